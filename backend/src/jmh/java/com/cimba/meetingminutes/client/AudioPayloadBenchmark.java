@@ -0,0 +1,71 @@
+package com.cimba.meetingminutes.client;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Base64 of inline audio for Gemini: streamed from the spooled file (InlineAudioRequestBody)
+// vs the old way of reading the whole file and encoding it into one String
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class AudioPayloadBenchmark {
+
+    // 1 MB is about a minute of MP3, 25 MB close to the upload limit
+    @Param({"1", "25"})
+    public int megabytes;
+
+    private Path audio;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] bytes = new byte[megabytes * 1024 * 1024];
+        new Random(42).nextBytes(bytes);
+        audio = Files.createTempFile("bench-audio", ".mp3");
+        Files.write(audio, bytes);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(audio);
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        InlineAudioRequestBody body = new InlineAudioRequestBody("Transcribe this audio recording.", "audio/mpeg", audio);
+        CountingOutputStream out = new CountingOutputStream();
+        body.writeTo(out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long inMemory() throws IOException {
+        String encoded = Base64.getEncoder().encodeToString(Files.readAllBytes(audio));
+        String json = "{\"contents\":[{\"parts\":[{\"text\":\"Transcribe this audio recording.\"},"
+                + "{\"inline_data\":{\"mime_type\":\"audio/mpeg\",\"data\":\"" + encoded + "\"}}]}]}";
+        return json.length();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.cimba.meetingminutes.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of a history page, with and without the section texts
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinutesJsonBenchmark {
+
+    @Param({"50", "200"})
+    public int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<MinutesResponse> withSections;
+    private List<MinutesResponse> headersOnly;
+
+    @Setup
+    public void setUp() {
+        withSections = new ArrayList<>();
+        headersOnly = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            String createdAt = "2024-05-0" + (i % 9 + 1) + "T10:15:30.123456";
+            withSections.add(new MinutesResponse((long) i, "Sprint " + i + " planning",
+                    "The team reviewed the authentication revamp and agreed on the sprint scope. ".repeat(4),
+                    "• Keep token rotation on the client - Confirmed by Priya\n".repeat(4),
+                    "• Finish the refresh-token endpoint - Assigned to: Rahul - Due: Thursday EOD\n".repeat(6),
+                    createdAt));
+            headersOnly.add(new MinutesResponse((long) i, "Sprint " + i + " planning", null, null, null, createdAt));
+        }
+    }
+
+    @Benchmark
+    public byte[] pageWithSections() throws Exception {
+        return objectMapper.writeValueAsBytes(withSections);
+    }
+
+    @Benchmark
+    public byte[] pageHeadersOnly() throws Exception {
+        return objectMapper.writeValueAsBytes(headersOnly);
+    }
+}
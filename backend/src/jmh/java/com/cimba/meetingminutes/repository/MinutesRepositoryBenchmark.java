@@ -0,0 +1,114 @@
+package com.cimba.meetingminutes.repository;
+
+import com.cimba.meetingminutes.MeetingMinutesApplication;
+import com.cimba.meetingminutes.model.MeetingMinutes;
+import com.cimba.meetingminutes.service.BenchmarkTranscripts;
+import com.cimba.meetingminutes.service.TranscriptStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Repository calls against the in-memory H2 the app runs on, with the app's JPA settings
+// (sequence ids, JDBC batching). Every benchmark forks, so each starts from the same seeded table.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MinutesRepositoryBenchmark {
+
+    private static final int SEEDED_ROWS = 1000;
+    private static final int BATCH = 50;
+
+    private ConfigurableApplicationContext context;
+    private MeetingMinutesRepository repository;
+    private TranscriptStore transcriptStore;
+    private String transcript;
+    private Long seededId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MeetingMinutesApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.main.banner-mode=off")
+                .run();
+        repository = context.getBean(MeetingMinutesRepository.class);
+        transcriptStore = context.getBean(TranscriptStore.class);
+        // About a 30-minute meeting per row
+        transcript = BenchmarkTranscripts.transcript(300, 42);
+
+        List<MeetingMinutes> seed = new ArrayList<>();
+        for (int i = 0; i < SEEDED_ROWS; i++) {
+            seed.add(minutes(i));
+        }
+        List<MeetingMinutes> saved = repository.saveAll(seed);
+        transcriptStore.saveAll(saved);
+        seededId = saved.get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MeetingMinutes saveOne() {
+        return repository.save(minutes(0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<MeetingMinutes> saveAllBatch() {
+        List<MeetingMinutes> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(minutes(i));
+        }
+        return repository.saveAll(batch);
+    }
+
+    // What GET /api/minutes did before keyset pages: every row
+    @Benchmark
+    public List<MeetingMinutes> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<MinutesView> findLatestPage() {
+        return repository.findLatest(Limit.of(50));
+    }
+
+    @Benchmark
+    public List<MinutesHeaderView> findLatestHeaders() {
+        return repository.findLatestHeaders(Limit.of(50));
+    }
+
+    // Compressed into StoredTranscript
+    @Benchmark
+    public MeetingMinutes saveOneWithTranscript() {
+        MeetingMinutes saved = repository.save(minutes(0));
+        transcriptStore.saveAll(List.of(saved));
+        return saved;
+    }
+
+    @Benchmark
+    public String loadTranscript() {
+        return transcriptStore.load(seededId).orElseThrow();
+    }
+
+    private MeetingMinutes minutes(int i) {
+        MeetingMinutes minutes = new MeetingMinutes();
+        minutes.setTitle("Sprint planning " + i);
+        minutes.setTranscript(transcript);
+        minutes.setSummary("The team reviewed the authentication revamp and agreed on the sprint scope.");
+        minutes.setKeyDecisions("• Keep token rotation on the client - Confirmed by Priya");
+        minutes.setActionItems("• Finish the refresh-token endpoint - Assigned to: Rahul - Due: Thursday EOD");
+        return minutes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Deterministic benchmark inputs: "10:00 AM — Name: text" transcripts and model-shaped minutes.
+// A one-hour meeting is roughly 600 lines, about 50 KB.
+public final class BenchmarkTranscripts {
+
+    private static final String[] SPEAKERS = {"Priya", "Rahul", "Ananya", "Karan", "Tejas", "Meera", "Arjun"};
+    private static final String[] LINES = {
+            "Let's get started. Main agenda is to review the status of the release and finalize the sprint.",
+            "The backend changes are 80% done, I'll wrap them up by Thursday EOD once the refresh endpoint is in.",
+            "Can you confirm the refresh endpoint won't require the user to log in again?",
+            "Token handling will be done by Monday, the login modal needs one more day for the new specs.",
+            "I can run that sanity test today. It's login, API health and database connectivity, right?",
+            "We'll need two full days of regression this week because this affects the whole session flow.",
+            "Noted. Moving on to blockers, is anyone stuck on something?",
+            "I will push a draft PR tonight and tag you for the review of the logging fields.",
+            "The infra team finished provisioning yesterday but asked for one more check before the handoff.",
+            "Agreed, let's keep the old cluster around until the tracing agent reports metrics."
+    };
+
+    private BenchmarkTranscripts() {
+    }
+
+    public static String transcript(int lines, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(lines * 90);
+        for (int i = 0; i < lines; i++) {
+            int minute = i % 60;
+            text.append(10 + (i / 60) % 12).append(':').append(minute < 10 ? "0" : "").append(minute)
+                    .append(" AM — ").append(SPEAKERS[random.nextInt(SPEAKERS.length)]).append(": ")
+                    .append(LINES[random.nextInt(LINES.length)]).append('\n');
+        }
+        return text.toString();
+    }
+
+    // Section text the way Gemini answers the prompt
+    public static String minutesText(int decisions, int actions) {
+        StringBuilder text = new StringBuilder("**SUMMARY:**\n");
+        text.append("The team reviewed the authentication revamp, the logging utility and the move to the new ")
+                .append("staging cluster. Backend work is nearly done, frontend follows on Monday and QA starts ")
+                .append("regression on Friday afternoon.\n\n**KEY DECISIONS:**\n");
+        for (int i = 0; i < decisions; i++) {
+            text.append("• Decision ").append(i).append(": keep token rotation on the client - Confirmed by Priya, ")
+                    .append("effective from Sprint ").append(14 + i).append('\n');
+        }
+        text.append("\n**ACTION ITEMS:**\n");
+        for (int i = 0; i < actions; i++) {
+            text.append("• Finish task ").append(i).append(" of the refresh-token endpoint - Assigned to: ")
+                    .append(SPEAKERS[i % SPEAKERS.length]).append(" - Due: Thursday EOD\n");
+        }
+        return text.toString();
+    }
+
+    // generateContent response as Jackson maps it
+    public static Map<String, Object> geminiResponse(String text) {
+        return Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("parts", List.of(Map.of("text", text)), "role", "model"),
+                        "finishReason", "STOP")),
+                "usageMetadata", Map.of("promptTokenCount", 12000, "candidatesTokenCount", 900));
+    }
+}
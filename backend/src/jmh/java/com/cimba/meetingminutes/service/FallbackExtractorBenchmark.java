@@ -0,0 +1,39 @@
+package com.cimba.meetingminutes.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Legacy vs single-pass fallback extraction on synthetic transcripts of 1k to 100k lines
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FallbackExtractorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int lines;
+
+    private String transcript;
+
+    @Setup
+    public void setUp() {
+        transcript = BenchmarkTranscripts.transcript(lines, 42);
+        if (!LegacyFallbackMinutes.createFallbackMinutes(transcript).equals(FallbackMinutesExtractor.extract(transcript))) {
+            throw new IllegalStateException("Extractors disagree on the benchmark transcript");
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> legacy() {
+        return LegacyFallbackMinutes.createFallbackMinutes(transcript);
+    }
+
+    @Benchmark
+    public Map<String, String> singlePass() {
+        return FallbackMinutesExtractor.extract(transcript);
+    }
+}
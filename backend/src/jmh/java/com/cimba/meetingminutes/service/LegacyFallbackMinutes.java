@@ -0,0 +1,155 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The fallback extractor as it was before FallbackMinutesExtractor, kept verbatim as the
+// benchmark baseline and as the reference its output is checked against
+final class LegacyFallbackMinutes {
+
+    private LegacyFallbackMinutes() {
+    }
+
+    static Map<String, String> createFallbackMinutes(String transcript) {
+        Map<String, String> minutes = new HashMap<>();
+
+        String[] lines = transcript.split("\n");
+        Map<String, Integer> participants = new HashMap<>();
+        List<String> decisions = new java.util.ArrayList<>();
+        List<String> actions = new java.util.ArrayList<>();
+        String mainAgenda = "";
+
+        for (String line : lines) {
+            if (line.trim().isEmpty())
+                continue;
+
+            // Parse format: "10:00 AM — Name: Content" or "Name: Content"
+            String cleanLine = line.trim();
+            String speaker = "";
+            String content = "";
+
+            // Remove timestamp if present
+            cleanLine = cleanLine.replaceAll("^\\d{1,2}:\\d{2}\\s*[AP]M\\s*[—-]\\s*", "");
+
+            if (cleanLine.contains(":")) {
+                String[] parts = cleanLine.split(":", 2);
+                if (parts.length == 2) {
+                    speaker = parts[0].trim();
+                    content = parts[1].trim();
+
+                    // Track unique participants
+                    if (!speaker.isEmpty() && !speaker.matches("\\d+")) {
+                        participants.put(speaker, participants.getOrDefault(speaker, 0) + 1);
+                    }
+
+                    // Extract main agenda (first substantive statement)
+                    if (mainAgenda.isEmpty() && content.toLowerCase().contains("agenda")) {
+                        mainAgenda = content;
+                    }
+
+                    // Detect decisions (commitments with deadlines)
+                    String lowerContent = content.toLowerCase();
+                    if ((lowerContent.contains("by thursday") || lowerContent.contains("by friday") ||
+                            lowerContent.contains("by monday") || lowerContent.contains("by wednesday") ||
+                            lowerContent.contains("eod") || lowerContent.contains("tonight") ||
+                            lowerContent.contains("this week")) &&
+                            (lowerContent.contains("will") || lowerContent.contains("can") ||
+                                    lowerContent.contains("'ll") || lowerContent.contains("done"))) {
+                        decisions.add("• " + speaker + " committed: " + content);
+                    }
+
+                    // Detect action items (I'll, I will, I can statements)
+                    if (lowerContent.contains("i'll") || lowerContent.contains("i will") ||
+                            (lowerContent.contains("i can") && !lowerContent.contains("?"))) {
+
+                        // Extract the task
+                        String task = content;
+                        String deadline = "TBD";
+
+                        // Extract deadline
+                        if (lowerContent.contains("by thursday"))
+                            deadline = "Thursday";
+                        else if (lowerContent.contains("by friday"))
+                            deadline = "Friday";
+                        else if (lowerContent.contains("by monday"))
+                            deadline = "Monday";
+                        else if (lowerContent.contains("by wednesday"))
+                            deadline = "Wednesday";
+                        else if (lowerContent.contains("eod"))
+                            deadline = "EOD";
+                        else if (lowerContent.contains("tonight"))
+                            deadline = "Tonight";
+                        else if (lowerContent.contains("today"))
+                            deadline = "Today";
+
+                        actions.add("• " + task + " - Assigned to: " + speaker + " - Due: " + deadline);
+                    }
+
+                    // Detect questions asking someone to do something
+                    if (lowerContent.contains("can you") && content.contains("?")) {
+                        // Extract who is being asked
+                        String[] words = content.split("\\s+");
+                        for (int i = 0; i < words.length - 1; i++) {
+                            if (words[i].toLowerCase().equals("you")) {
+                                // The person being asked is likely mentioned after "can you"
+                                String task = content.replace("?", "");
+                                actions.add("• " + task + " - Assigned to: [To be confirmed]");
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // Build summary
+        StringBuilder summary = new StringBuilder();
+        summary.append("The team meeting involved ").append(participants.size())
+                .append(" participants (").append(String.join(", ", participants.keySet())).append("). ");
+
+        if (!mainAgenda.isEmpty()) {
+            summary.append(mainAgenda).append(" ");
+        } else {
+            summary.append("The discussion focused on Sprint 14 planning, including authentication revamp status, ");
+            summary.append(
+                    "backend and frontend development timelines, QA testing schedules, and infrastructure updates. ");
+        }
+
+        summary.append("Team members provided status updates, committed to specific deliverables with deadlines, ");
+        summary.append("and identified dependencies and blockers requiring follow-up.");
+
+        // Build decisions string
+        StringBuilder decisionsStr = new StringBuilder();
+        if (!decisions.isEmpty()) {
+            for (String decision : decisions) {
+                decisionsStr.append(decision).append("\n");
+            }
+        } else {
+            decisionsStr.append("• Backend development timeline established\n");
+            decisionsStr.append("• Frontend implementation schedule confirmed\n");
+            decisionsStr.append("• QA testing approach agreed upon\n");
+            decisionsStr.append("• Infrastructure deployment plan approved");
+        }
+
+        // Build action items string
+        StringBuilder actionsStr = new StringBuilder();
+        if (!actions.isEmpty()) {
+            for (String action : actions) {
+                actionsStr.append(action).append("\n");
+            }
+        } else {
+            // If no actions detected, create generic ones based on participants
+            for (String participant : participants.keySet()) {
+                actionsStr.append("• Complete assigned development tasks - Assigned to: ")
+                        .append(participant).append(" - Due: As discussed\n");
+            }
+        }
+
+        minutes.put("summary", summary.toString());
+        minutes.put("keyDecisions", decisionsStr.toString().trim());
+        minutes.put("actionItems", actionsStr.toString().trim());
+
+        return minutes;
+    }
+}
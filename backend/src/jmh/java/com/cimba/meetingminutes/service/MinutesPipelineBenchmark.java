@@ -0,0 +1,73 @@
+package com.cimba.meetingminutes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The CPU work around every summary request: prompt, response extraction, parsing, fallback.
+// 150 / 600 / 2400 lines are roughly 15-minute, one-hour and four-hour meetings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinutesPipelineBenchmark {
+
+    @Param({"150", "600", "2400"})
+    public int lines;
+
+    private String transcript;
+    private String minutesText;
+    private Map<String, Object> geminiResponse;
+    private String structuredJson;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        transcript = BenchmarkTranscripts.transcript(lines, 42);
+        // Longer meetings produce more decisions and action items
+        minutesText = BenchmarkTranscripts.minutesText(lines / 100 + 3, lines / 50 + 5);
+        geminiResponse = BenchmarkTranscripts.geminiResponse(minutesText);
+        objectMapper = new ObjectMapper();
+        structuredJson = objectMapper.writeValueAsString(Map.of(
+                "summary", "The team reviewed the release.",
+                "keyDecisions", Collections.nCopies(lines / 100 + 3,
+                        Map.of("decision", "Keep token rotation on the client", "details", "Confirmed by Priya")),
+                "actionItems", Collections.nCopies(lines / 50 + 5,
+                        Map.of("task", "Finish the refresh-token endpoint", "assignee", "Rahul", "due", "Thursday EOD"))));
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return OpenAIService.buildPrompt(transcript);
+    }
+
+    @Benchmark
+    public TranscriptCompactor.Result compactTranscript() {
+        return TranscriptCompactor.compact(transcript);
+    }
+
+    @Benchmark
+    public String extractGeminiContent() {
+        return OpenAIService.extractGeminiContent(geminiResponse);
+    }
+
+    @Benchmark
+    public Map<String, String> parseMinutes() {
+        return OpenAIService.parseMinutes(minutesText);
+    }
+
+    @Benchmark
+    public Map<String, String> renderStructuredMinutes() throws Exception {
+        return StructuredMinutes.render(objectMapper.readTree(structuredJson));
+    }
+
+    @Benchmark
+    public Map<String, String> createFallbackMinutes() {
+        return FallbackMinutesExtractor.extract(transcript);
+    }
+}
@@ -0,0 +1,288 @@
+package com.cimba.meetingminutes.loadtest;
+
+import com.cimba.meetingminutes.MeetingMinutesApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives /api/minutes/transcript and /api/minutes/audio at a fixed request rate and reports
+// throughput and p50/p95/p99 latency per endpoint. Open loop: requests are sent on schedule
+// whether or not earlier ones finished, and latency counts from the scheduled time, so a
+// stalled service shows up in the percentiles instead of lowering the request rate.
+//
+// Without loadtest.target the provider stub and the application are started in this JVM and
+// wired to each other (application-loadtest.properties). Options are system properties:
+//   loadtest.target      base URL of a running service, e.g. http://localhost:8080
+//   loadtest.scenario    transcript | audio | mixed (default transcript)
+//   loadtest.rps         target requests per second (default 20)
+//   loadtest.duration    measured time, ISO-8601 or e.g. 60s (default 60s)
+//   loadtest.warmup      unmeasured time before it (default 10s)
+//   loadtest.audio-share share of audio requests in the mixed scenario (default 0.2)
+//   loadtest.audio-seconds length of the generated recordings (default 30)
+//   stub.*               provider stub behaviour, see ProviderStub
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final HttpClient client;
+    private final String target;
+    private final byte[] audioTemplate;
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    // Starts from the clock so a second run against the same server does not repeat the first one's requests
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private LoadTest(HttpClient client, String target, int audioSeconds) {
+        this.client = client;
+        this.target = target;
+        this.audioTemplate = wav(audioSeconds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String scenario = System.getProperty("loadtest.scenario", "transcript");
+        double rps = Double.parseDouble(System.getProperty("loadtest.rps", "20"));
+        Duration duration = duration(System.getProperty("loadtest.duration", "60s"));
+        Duration warmup = duration(System.getProperty("loadtest.warmup", "10s"));
+        double audioShare = switch (scenario) {
+            case "transcript" -> 0;
+            case "audio" -> 1;
+            case "mixed" -> Double.parseDouble(System.getProperty("loadtest.audio-share", "0.2"));
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        };
+
+        ProviderStub stub = null;
+        ConfigurableApplicationContext app = null;
+        String target = System.getProperty("loadtest.target");
+        if (target == null) {
+            stub = ProviderStub.start(0);
+            app = new SpringApplicationBuilder(MeetingMinutesApplication.class)
+                    .profiles("loadtest")
+                    .run("--server.port=0",
+                            "--providers.gemini.base-url=" + stub.geminiBaseUrl(),
+                            "--providers.huggingface.base-url=" + stub.huggingFaceBaseUrl());
+            target = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        ExecutorService responses = Executors.newCachedThreadPool();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(responses)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            LoadTest test = new LoadTest(client, target, Integer.getInteger("loadtest.audio-seconds", 30));
+            System.out.printf("Load test: %s at %.1f rps against %s, %ds warmup + %ds%n",
+                    scenario, rps, target, warmup.toSeconds(), duration.toSeconds());
+            test.run(rps, warmup, duration, audioShare);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("scenario", scenario);
+            report.put("targetRps", rps);
+            report.put("durationSeconds", duration.toSeconds());
+            if (stub != null) {
+                report.put("stub", Map.of("gemini", stub.gemini(), "huggingface", stub.huggingFace()));
+            }
+            Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+            test.recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint, recorder.summary(duration)));
+            report.put("endpoints", endpoints);
+            print(endpoints);
+
+            Path results = Path.of(System.getProperty("loadtest.results", "target/loadtest-results.json"));
+            Files.createDirectories(results.toAbsolutePath().getParent());
+            JSON.writeValue(results.toFile(), report);
+            System.out.println("Results written to " + results);
+        } finally {
+            responses.shutdownNow();
+            if (app != null) {
+                app.close();
+            }
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    private void run(double rps, Duration warmup, Duration duration, double audioShare) {
+        long intervalNanos = (long) (1_000_000_000L / rps);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean audio = ThreadLocalRandom.current().nextDouble() < audioShare;
+            String endpoint = audio ? "/api/minutes/audio" : "/api/minutes/transcript";
+            Recorder recorder = scheduled >= measureFrom ? recorders.computeIfAbsent(endpoint, e -> new Recorder()) : null;
+            HttpRequest request = audio ? audioRequest() : transcriptRequest();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (recorder != null) {
+                            recorder.record(System.nanoTime() - scheduled, response != null ? response.statusCode() : -1);
+                        }
+                        return null;
+                    }));
+            inFlight.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+    }
+
+    // Every transcript is different, so the result cache does not answer for the providers
+    private HttpRequest transcriptRequest() {
+        long n = sequence.incrementAndGet();
+        StringBuilder transcript = new StringBuilder("Load test meeting " + n + "\n");
+        String[] speakers = {"Priya", "Rahul", "Ananya", "Karan"};
+        for (int i = 0; i < 40; i++) {
+            transcript.append("10:").append(String.format("%02d", i)).append(" AM — ").append(speakers[i % 4])
+                    .append(": We decided to finish task ").append(n).append('-').append(i)
+                    .append(", I will take it and have it done by Thursday.\n");
+        }
+        String body;
+        try {
+            body = JSON.writeValueAsString(Map.of("title", "Load test " + n, "transcript", transcript.toString()));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return HttpRequest.newBuilder(URI.create(target + "/api/minutes/transcript"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Same recording with a few samples changed, so the content hash differs per request
+    private HttpRequest audioRequest() {
+        long n = sequence.incrementAndGet();
+        byte[] audio = audioTemplate.clone();
+        ByteBuffer.wrap(audio, 44, 8).order(ByteOrder.LITTLE_ENDIAN).putLong(n);
+
+        String boundary = "loadtest" + n;
+        ByteArrayOutputStream body = new ByteArrayOutputStream(audio.length + 512);
+        writeString(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"title\"\r\n\r\nLoad test " + n + "\r\n");
+        writeString(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"meeting-" + n
+                + ".wav\"\r\nContent-Type: audio/wav\r\n\r\n");
+        body.writeBytes(audio);
+        writeString(body, "\r\n--" + boundary + "--\r\n");
+        return HttpRequest.newBuilder(URI.create(target + "/api/minutes/audio"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Stereo 44.1kHz speech-like bursts with pauses, the kind of upload preprocessing is for
+    private static byte[] wav(int seconds) {
+        int rate = 44100;
+        int frames = rate * seconds;
+        ByteBuffer data = ByteBuffer.allocate(44 + frames * 4).order(ByteOrder.LITTLE_ENDIAN);
+        data.put("RIFF".getBytes()).putInt(36 + frames * 4).put("WAVE".getBytes())
+                .put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 2)
+                .putInt(rate).putInt(rate * 4).putShort((short) 4).putShort((short) 16)
+                .put("data".getBytes()).putInt(frames * 4);
+        for (int i = 0; i < frames; i++) {
+            boolean speaking = (i / rate) % 5 < 4;
+            short sample = speaking ? (short) (6000 * Math.sin(i * 0.06) * Math.sin(i * 0.0007)) : 0;
+            data.putShort(sample).putShort(sample);
+        }
+        return data.array();
+    }
+
+    private static void print(Map<String, Map<String, Object>> endpoints) {
+        System.out.printf("%-26s %8s %8s %8s %10s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "ok", "failed", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, s) -> {
+            System.out.printf("%-26s %8d %8d %8d %10.1f %8d %8d %8d %8d%n", endpoint,
+                    s.get("requests"), s.get("ok"), s.get("failed"), s.get("throughputRps"),
+                    s.get("p50Ms"), s.get("p95Ms"), s.get("p99Ms"), s.get("maxMs"));
+            System.out.println("  status codes: " + s.get("statusCodes"));
+        });
+    }
+
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        String number = value.replaceAll("[^0-9]", "");
+        return value.endsWith("ms") ? Duration.ofMillis(Long.parseLong(number))
+                : value.endsWith("m") ? Duration.ofMinutes(Long.parseLong(number))
+                : Duration.ofSeconds(Long.parseLong(number));
+    }
+
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> statusCodes = new TreeMap<>();
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statusCodes.merge(status, 1, Integer::sum);
+        }
+
+        synchronized Map<String, Object> summary(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int ok = statusCodes.entrySet().stream()
+                    .filter(e -> e.getKey() >= 200 && e.getKey() < 300)
+                    .mapToInt(Map.Entry::getValue).sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("ok", ok);
+            summary.put("failed", count - ok);
+            summary.put("throughputRps", ok / (double) duration.toSeconds());
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", count == 0 ? 0 : sorted[count - 1] / 1_000_000);
+            summary.put("statusCodes", new LinkedHashMap<>(statusCodes));
+            return summary;
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000;
+        }
+    }
+}
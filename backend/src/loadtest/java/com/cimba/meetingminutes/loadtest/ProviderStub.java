@@ -0,0 +1,272 @@
+package com.cimba.meetingminutes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Stands in for Gemini and Hugging Face so the service can be load-tested without real quota:
+//   GET  /gemini/v1beta/models
+//   POST /gemini/v1beta/models/{model}:generateContent            (text, or JSON when a schema is sent)
+//   POST /gemini/v1beta/models/{model}:streamGenerateContent?alt=sse
+//   POST /hf/{org}/{model}                                         (ASR, {"text": ...})
+// Behaviour per provider from system properties, stub.gemini.* and stub.hf.*:
+//   latency-median-ms, latency-p99-ms   log-normal latency between the two
+//   error-rate, rate-limit-rate         share of 503 and of 429 (Retry-After: 1) responses
+//   response-bytes                      approximate size of the generated text
+public final class ProviderStub implements AutoCloseable {
+
+    public record Behaviour(long latencyMedianMs, long latencyP99Ms, double errorRate, double rateLimitRate,
+                            int responseBytes) {
+
+        static Behaviour fromProperties(String prefix, Behaviour defaults) {
+            return new Behaviour(
+                    Long.getLong(prefix + "latency-median-ms", defaults.latencyMedianMs()),
+                    Long.getLong(prefix + "latency-p99-ms", defaults.latencyP99Ms()),
+                    Double.parseDouble(System.getProperty(prefix + "error-rate", String.valueOf(defaults.errorRate()))),
+                    Double.parseDouble(System.getProperty(prefix + "rate-limit-rate", String.valueOf(defaults.rateLimitRate()))),
+                    Integer.getInteger(prefix + "response-bytes", defaults.responseBytes()));
+        }
+
+        long sampleLatencyMs() {
+            if (latencyMedianMs <= 0) {
+                return 0;
+            }
+            // 2.326 standard deviations put p99 where it was asked for
+            double sigma = Math.log((double) Math.max(latencyP99Ms, latencyMedianMs) / latencyMedianMs) / 2.326;
+            return Math.round(latencyMedianMs * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+
+    static final Behaviour GEMINI_DEFAULTS = new Behaviour(1500, 6000, 0.01, 0.02, 2000);
+    static final Behaviour HF_DEFAULTS = new Behaviour(3000, 12000, 0.01, 0.02, 4000);
+
+    private static final List<String> MODELS = List.of(
+            "models/gemini-2.5-flash", "models/gemini-2.0-flash", "models/gemini-flash-latest",
+            "models/gemini-pro-latest", "models/gemini-2.0-flash-exp");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Behaviour gemini;
+    private final Behaviour huggingFace;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProviderStub(int port, Behaviour gemini, Behaviour huggingFace) throws IOException {
+        this.gemini = gemini;
+        this.huggingFace = huggingFace;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        // Latency is simulated by sleeping, so every in-flight request holds a thread
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/gemini/v1beta/", this::gemini);
+        server.createContext("/hf/", this::huggingFace);
+    }
+
+    public static ProviderStub start(int port) throws IOException {
+        ProviderStub stub = new ProviderStub(port,
+                Behaviour.fromProperties("stub.gemini.", GEMINI_DEFAULTS),
+                Behaviour.fromProperties("stub.hf.", HF_DEFAULTS));
+        stub.server.start();
+        return stub;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String geminiBaseUrl() {
+        return "http://localhost:" + port() + "/gemini/v1beta/";
+    }
+
+    public String huggingFaceBaseUrl() {
+        return "http://localhost:" + port() + "/hf/";
+    }
+
+    public Behaviour gemini() {
+        return gemini;
+    }
+
+    public Behaviour huggingFace() {
+        return huggingFace;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Standalone, for a service started elsewhere: -Dstub.port=8090, then point
+    // providers.gemini.base-url / providers.huggingface.base-url at the printed URLs
+    public static void main(String[] args) throws IOException {
+        ProviderStub stub = start(Integer.getInteger("stub.port", 8090));
+        System.out.println("Provider stub listening");
+        System.out.println("  providers.gemini.base-url=" + stub.geminiBaseUrl() + "  " + stub.gemini());
+        System.out.println("  providers.huggingface.base-url=" + stub.huggingFaceBaseUrl() + "  " + stub.huggingFace());
+    }
+
+    private void gemini(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            if (path.endsWith("/models") && exchange.getRequestMethod().equals("GET")) {
+                List<Map<String, Object>> models = new ArrayList<>();
+                for (String model : MODELS) {
+                    models.add(Map.of("name", model, "supportedGenerationMethods", List.of("generateContent", "countTokens")));
+                }
+                sendJson(exchange, 200, Map.of("models", models));
+                return;
+            }
+            if (simulateFailure(exchange, gemini)) {
+                return;
+            }
+            String body = new String(request, StandardCharsets.UTF_8);
+            if (path.endsWith(":streamGenerateContent")) {
+                stream(exchange, minutesText(gemini.responseBytes()), gemini.sampleLatencyMs());
+                return;
+            }
+            if (path.endsWith(":generateContent")) {
+                sleep(gemini.sampleLatencyMs());
+                String text;
+                if (body.contains("\"responseSchema\"")) {
+                    text = objectMapper.writeValueAsString(structuredMinutes(gemini.responseBytes()));
+                } else if (body.contains("inline_data")) {
+                    text = transcript(gemini.responseBytes());
+                } else {
+                    text = minutesText(gemini.responseBytes());
+                }
+                sendJson(exchange, 200, candidates(text));
+                return;
+            }
+            sendJson(exchange, 404, Map.of("error", Map.of("code", 404, "message", "No such method " + path)));
+        }
+    }
+
+    private void huggingFace(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Audio can be large, drain it without keeping it
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            if (simulateFailure(exchange, huggingFace)) {
+                return;
+            }
+            sleep(huggingFace.sampleLatencyMs());
+            sendJson(exchange, 200, Map.of("text", transcript(huggingFace.responseBytes())));
+        }
+    }
+
+    private boolean simulateFailure(HttpExchange exchange, Behaviour behaviour) throws IOException {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < behaviour.rateLimitRate()) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            sendJson(exchange, 429, Map.of("error", Map.of("code", 429, "status", "RESOURCE_EXHAUSTED",
+                    "message", "Stub quota exceeded",
+                    "details", List.of(Map.of("retryDelay", "1s")))));
+            return true;
+        }
+        if (roll < behaviour.rateLimitRate() + behaviour.errorRate()) {
+            sleep(behaviour.sampleLatencyMs() / 2);
+            sendJson(exchange, 503, Map.of("error", Map.of("code", 503, "status", "UNAVAILABLE",
+                    "message", "Stub overloaded")));
+            return true;
+        }
+        return false;
+    }
+
+    // Time to first event is a third of the latency, the rest is spread over the chunks
+    private void stream(HttpExchange exchange, String text, long latencyMs) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        int chunks = 8;
+        int size = (text.length() + chunks - 1) / chunks;
+        sleep(latencyMs / 3);
+        for (int start = 0; start < text.length(); start += size) {
+            String slice = text.substring(start, Math.min(text.length(), start + size));
+            out.write(("data: " + objectMapper.writeValueAsString(candidates(slice)) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            sleep(latencyMs * 2 / 3 / chunks);
+        }
+        out.close();
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        exchange.getResponseBody().write(json);
+    }
+
+    private static Map<String, Object> candidates(String text) {
+        return Map.of("candidates", List.of(Map.of(
+                "content", Map.of("role", "model", "parts", List.of(Map.of("text", text))),
+                "finishReason", "STOP")));
+    }
+
+    private static String minutesText(int bytes) {
+        StringBuilder text = new StringBuilder("SUMMARY:\nThe team reviewed the sprint status, agreed on the release plan "
+                + "and assigned follow-up work for the authentication revamp.\n\nKEY DECISIONS:\n");
+        int decisions = Math.max(1, bytes / 400);
+        for (int i = 1; i <= decisions; i++) {
+            text.append("• Ship milestone ").append(i).append(" behind a feature flag - Confirmed by Priya\n");
+        }
+        text.append("\nACTION ITEMS:\n");
+        for (int i = 1; text.length() < bytes; i++) {
+            text.append("• Prepare the rollout checklist for milestone ").append(i)
+                    .append(" - Assigned to: Rahul - Due: Thursday\n");
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Object> structuredMinutes(int bytes) {
+        List<Map<String, String>> decisions = new ArrayList<>();
+        List<Map<String, String>> actions = new ArrayList<>();
+        int items = Math.max(1, bytes / 120);
+        for (int i = 1; i <= items; i++) {
+            if (i % 3 == 0) {
+                decisions.add(Map.of("decision", "Ship milestone " + i + " behind a feature flag", "details", "Confirmed by Priya"));
+            } else {
+                actions.add(Map.of("task", "Prepare the rollout checklist for milestone " + i, "assignee", "Rahul", "due", "Thursday"));
+            }
+        }
+        return Map.of(
+                "summary", "The team reviewed the sprint status, agreed on the release plan and assigned follow-up work.",
+                "keyDecisions", decisions,
+                "actionItems", actions);
+    }
+
+    private static String transcript(int bytes) {
+        String[] speakers = {"Priya", "Rahul", "Ananya", "Karan"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < bytes; i++) {
+            text.append(speakers[i % speakers.length])
+                    .append(": I will take care of item ").append(i)
+                    .append(" and we decided to review it again on Thursday. ");
+        }
+        return text.toString();
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
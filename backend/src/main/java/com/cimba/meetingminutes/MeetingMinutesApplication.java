@@ -2,8 +2,10 @@ package com.cimba.meetingminutes;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MeetingMinutesApplication {
     public static void main(String[] args) {
         SpringApplication.run(MeetingMinutesApplication.class, args);
@@ -0,0 +1,155 @@
+package com.cimba.meetingminutes.client;
+
+import com.cimba.meetingminutes.config.ProviderProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.function.Supplier;
+
+// Count-based circuit breaker: opens when too many of the recent calls failed, lets a single
+// trial call through after the open period, and closes again when that call succeeds
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // NEUTRAL calls say nothing about the provider's health: they release the trial, but are not recorded
+    private enum Outcome { SUCCESS, FAILURE, NEUTRAL }
+
+    private final String name;
+    private final ProviderProperties.Breaker settings;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int recorded = 0;
+    private int failures = 0;
+    private long openedAt = 0;
+    private boolean trialInFlight = false;
+    private long rejected = 0;
+
+    public CircuitBreaker(String name, ProviderProperties.Breaker settings) {
+        this.name = name;
+        this.settings = settings;
+        this.outcomes = new boolean[settings.getWindowSize()];
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!tryAcquire()) {
+            throw new CircuitOpenException(name);
+        }
+        // Anything thrown that is not a RuntimeException (an Error) still releases the trial
+        Outcome outcome = Outcome.NEUTRAL;
+        try {
+            T result = call.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            onResult(outcome);
+        }
+    }
+
+    // True if a call would be let through right now
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.currentTimeMillis() - openedAt >= settings.getOpenDuration().toMillis();
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejectedCalls() {
+        return rejected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= settings.getOpenDuration().toMillis()) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    private synchronized void onResult(Outcome outcome) {
+        if (outcome == Outcome.NEUTRAL) {
+            trialInFlight = false;
+            return;
+        }
+        boolean success = outcome == Outcome.SUCCESS;
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            if (success) {
+                reset();
+            } else {
+                open();
+            }
+            return;
+        }
+
+        int slot = recorded % outcomes.length;
+        if (recorded >= outcomes.length && !outcomes[slot]) {
+            failures--;
+        }
+        outcomes[slot] = success;
+        if (!success) {
+            failures++;
+        }
+        recorded++;
+
+        int calls = Math.min(recorded, outcomes.length);
+        if (calls >= settings.getMinimumCalls() && failures * 100 >= settings.getFailureRatePercent() * calls) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        log.warn("Circuit breaker opened name={}", name);
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        recorded = 0;
+        failures = 0;
+        log.info("Circuit breaker closed name={}", name);
+    }
+
+    // Timeouts, connection errors and 5xx mean the provider is in trouble; other 4xx are our fault.
+    // 429s are quota, which RateLimitScheduler handles by waiting: neither healthy nor failing,
+    // and neither is a call we aborted ourselves
+    private static Outcome outcome(RuntimeException e) {
+        if (ProviderCall.isCancelled()) {
+            return Outcome.NEUTRAL;
+        }
+        if (e instanceof ResourceAccessException) {
+            return Outcome.FAILURE;
+        }
+        if (e instanceof HttpStatusCodeException http) {
+            if (http.getStatusCode().value() == 429) {
+                return Outcome.NEUTRAL;
+            }
+            return http.getStatusCode().is5xxServerError() ? Outcome.FAILURE : Outcome.SUCCESS;
+        }
+        return Outcome.SUCCESS;
+    }
+}
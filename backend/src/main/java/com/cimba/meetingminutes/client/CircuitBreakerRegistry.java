@@ -0,0 +1,37 @@
+package com.cimba.meetingminutes.client;
+
+import com.cimba.meetingminutes.config.ProviderProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One breaker per provider/model, created on first use and exported as metrics
+@Component
+@RequiredArgsConstructor
+public class CircuitBreakerRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreaker get(String provider, String target, ProviderProperties.Breaker settings) {
+        return breakers.computeIfAbsent(provider + ":" + target, name -> {
+            CircuitBreaker breaker = new CircuitBreaker(name, settings);
+            Gauge.builder("provider.circuit.state", breaker, b -> b.getState().ordinal())
+                    .description("0 = closed, 1 = open, 2 = half-open")
+                    .tag("provider", provider)
+                    .tag("target", target)
+                    .register(meterRegistry);
+            FunctionCounter.builder("provider.circuit.rejected", breaker, CircuitBreaker::getRejectedCalls)
+                    .description("Calls failed fast because the breaker was open")
+                    .tag("provider", provider)
+                    .tag("target", target)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.cimba.meetingminutes.client;
+
+public class CircuitOpenException extends RuntimeException {
+    public CircuitOpenException(String name) {
+        super("Circuit breaker " + name + " is open");
+    }
+}
@@ -0,0 +1,169 @@
+package com.cimba.meetingminutes.client;
+
+import com.cimba.meetingminutes.config.ProviderProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Gemini REST calls over the pooled client, each model behind its own rate limit and circuit breaker
+@Component
+public class GeminiClient {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final CircuitBreakerRegistry breakers;
+    private final ProviderProperties.Breaker breakerSettings;
+    private final RateLimitScheduler rateLimiter;
+    private final ProviderProperties.RateLimit rateLimit;
+    private final ObjectMapper objectMapper;
+    private final ProviderMetrics metrics;
+
+    @Value("${gemini.api.key}")
+    private String apiKey;
+
+    public GeminiClient(@Qualifier("geminiRestTemplate") RestTemplate restTemplate,
+                        CircuitBreakerRegistry breakers,
+                        RateLimitScheduler rateLimiter,
+                        ProviderProperties properties,
+                        ObjectMapper objectMapper,
+                        ProviderMetrics metrics) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = properties.getGemini().getBaseUrl();
+        this.breakers = breakers;
+        this.breakerSettings = properties.getGemini().getBreaker();
+        this.rateLimiter = rateLimiter;
+        this.rateLimit = properties.getGemini().getRateLimit();
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    public Map<String, Object> listModels() {
+        String url = baseUrl + "models?key=" + apiKey;
+        return breaker("models").execute(() -> metrics.record("gemini", "models", () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            return body("models", restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class));
+        }));
+    }
+
+    // model is the full resource name, e.g. "models/gemini-2.5-flash"
+    public Map<String, Object> generateContent(String model, Map<String, Object> requestBody) {
+        String url = baseUrl + model + ":generateContent?key=" + apiKey;
+        // Serialized here rather than by the template, so the payload size is known
+        byte[] json = toJson(requestBody);
+        return scheduled(model, RequestPriority.TEXT, () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            metrics.requestBytes("gemini", model, json.length);
+            return body(model, restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(json, headers), byte[].class));
+        });
+    }
+
+    // Same call with a streamed body, used for audio that must not be buffered in memory
+    public Map<String, Object> generateContent(String model, InlineAudioRequestBody requestBody) {
+        String url = baseUrl + model + ":generateContent?key=" + apiKey;
+        RequestCallback callback = request -> {
+            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.getHeaders().setContentLength(requestBody.contentLength());
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(requestBody::writeTo);
+            } else {
+                requestBody.writeTo(request.getBody());
+            }
+        };
+        return scheduled(model, RequestPriority.AUDIO, () -> {
+            metrics.requestBytes("gemini", model, requestBody.contentLength());
+            return body(model, restTemplate.execute(url, HttpMethod.POST, callback,
+                    restTemplate.responseEntityExtractor(byte[].class)));
+        });
+    }
+
+    // Server-sent events variant: every partial response is handed to onEvent as soon as it arrives.
+    // A 429 can only happen before the first event, so the rate limiter may still retry the call.
+    public void streamGenerateContent(String model, Map<String, Object> requestBody,
+                                      Consumer<Map<String, Object>> onEvent) {
+        String url = baseUrl + model + ":streamGenerateContent?alt=sse&key=" + apiKey;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        byte[] json = toJson(requestBody);
+        RequestCallback callback = restTemplate.httpEntityCallback(new HttpEntity<>(json, headers));
+        ResponseExtractor<Void> extractor = response -> {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+            long chars = 0;
+            String line;
+            try {
+                while ((line = reader.readLine()) != null) {
+                    chars += line.length() + 1;
+                    if (line.startsWith("data:")) {
+                        onEvent.accept(objectMapper.readValue(line.substring(5).trim(), Map.class));
+                    }
+                }
+            } finally {
+                // Characters, close enough to bytes for mostly ASCII JSON
+                metrics.responseBytes("gemini", model, chars);
+            }
+            return null;
+        };
+        scheduled(model, RequestPriority.TEXT, () -> {
+            metrics.requestBytes("gemini", model, json.length);
+            return restTemplate.execute(url, HttpMethod.POST, callback, extractor);
+        });
+    }
+
+    public boolean isAvailable(String model) {
+        return breaker(model).isCallPermitted();
+    }
+
+    // Waits for quota first, so time spent queued never counts against the breaker
+    private <T> T scheduled(String model, RequestPriority priority, Supplier<T> call) {
+        String bucket = RateLimitScheduler.bucketKey("gemini", apiKey, model);
+        return rateLimiter.execute(bucket, priority, rateLimit,
+                () -> breaker(model).execute(() -> metrics.record("gemini", model, call)));
+    }
+
+    private CircuitBreaker breaker(String target) {
+        return breakers.get("gemini", target, breakerSettings);
+    }
+
+    private Map<String, Object> body(String model, ResponseEntity<byte[]> response) {
+        if (response == null || response.getBody() == null) {
+            return null;
+        }
+        metrics.responseBytes("gemini", model, response.getBody().length);
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.getBody(), Map.class);
+        } catch (IOException e) {
+            metrics.parseFailure("provider_response");
+            throw new UncheckedIOException("Unreadable Gemini response", e);
+        }
+    }
+
+    private byte[] toJson(Map<String, Object> requestBody) {
+        try {
+            return objectMapper.writeValueAsBytes(requestBody);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body is not serializable", e);
+        }
+    }
+}
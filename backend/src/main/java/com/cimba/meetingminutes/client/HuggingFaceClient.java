@@ -0,0 +1,84 @@
+package com.cimba.meetingminutes.client;
+
+import com.cimba.meetingminutes.config.ProviderProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+// Hugging Face inference calls over the pooled client, behind a rate limit and a circuit breaker
+@Component
+public class HuggingFaceClient {
+
+    public static final String ASR_MODEL = "openai/whisper-large-v3";
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final CircuitBreakerRegistry breakers;
+    private final ProviderProperties.Breaker breakerSettings;
+    private final RateLimitScheduler rateLimiter;
+    private final ProviderProperties.RateLimit rateLimit;
+    private final ProviderMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    @Value("${huggingface.api.key:}")
+    private String apiKey;
+
+    public HuggingFaceClient(@Qualifier("huggingFaceRestTemplate") RestTemplate restTemplate,
+                             CircuitBreakerRegistry breakers,
+                             RateLimitScheduler rateLimiter,
+                             ProviderProperties properties,
+                             ProviderMetrics metrics,
+                             ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = properties.getHuggingface().getBaseUrl();
+        this.breakers = breakers;
+        this.breakerSettings = properties.getHuggingface().getBreaker();
+        this.rateLimiter = rateLimiter;
+        this.rateLimit = properties.getHuggingface().getRateLimit();
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    // Streams the file as the request body; returns the JSON response ({"text": ...}) or null
+    public Map<String, Object> transcribe(Path audio, String contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + apiKey);
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        HttpEntity<Resource> request = new HttpEntity<>(new FileSystemResource(audio), headers);
+
+        String bucket = RateLimitScheduler.bucketKey("huggingface", apiKey, ASR_MODEL);
+        return rateLimiter.execute(bucket, RequestPriority.AUDIO, rateLimit,
+                () -> breakers.get("huggingface", ASR_MODEL, breakerSettings).execute(
+                        () -> metrics.record("huggingface", ASR_MODEL, () -> {
+                            metrics.requestBytes("huggingface", ASR_MODEL, audio.toFile().length());
+                            ResponseEntity<byte[]> response = restTemplate.exchange(baseUrl + ASR_MODEL, HttpMethod.POST, request, byte[].class);
+                            return body(response);
+                        })));
+    }
+
+    private Map<String, Object> body(ResponseEntity<byte[]> response) {
+        if (response.getBody() == null) {
+            return null;
+        }
+        metrics.responseBytes("huggingface", ASR_MODEL, response.getBody().length);
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.getBody(), Map.class);
+        } catch (IOException e) {
+            metrics.parseFailure("provider_response");
+            throw new UncheckedIOException("Unreadable Hugging Face response", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cimba.meetingminutes.client;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+// Gemini generateContent body with the audio as inline_data, Base64-encoded while it is written
+// so the encoded payload never has to exist in memory
+public class InlineAudioRequestBody {
+
+    private final Path audioPath;
+    private final long audioSize;
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    public InlineAudioRequestBody(String prompt, String mimeType, Path audioPath) throws IOException {
+        this.audioPath = audioPath;
+        this.audioSize = Files.size(audioPath);
+        this.prefix = ("{\"contents\":[{\"parts\":[{\"text\":\"" + escape(prompt)
+                + "\"},{\"inline_data\":{\"mime_type\":\"" + escape(mimeType) + "\",\"data\":\"")
+                .getBytes(StandardCharsets.UTF_8);
+        this.suffix = "\"}}]}]}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    public long contentLength() {
+        return prefix.length + 4 * ((audioSize + 2) / 3) + suffix.length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(prefix);
+        try (OutputStream base64 = Base64.getEncoder().wrap(StreamUtils.nonClosing(out))) {
+            Files.copy(audioPath, base64);
+        }
+        out.write(suffix);
+        out.flush();
+    }
+
+    private static String escape(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+}
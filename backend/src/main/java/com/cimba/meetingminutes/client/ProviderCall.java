@@ -0,0 +1,58 @@
+package com.cimba.meetingminutes.client;
+
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+
+import java.util.function.Supplier;
+
+// Handle on the provider requests one thread makes, so another thread can abort them: a hedged
+// attempt that lost gives its connection back instead of waiting for an answer nobody reads.
+// The request factory of the provider clients registers every request with the caller's handle.
+public final class ProviderCall {
+
+    private static final ThreadLocal<ProviderCall> CURRENT = new ThreadLocal<>();
+
+    private HttpUriRequestBase request;
+    private boolean cancelled;
+
+    public <T> T run(Supplier<T> call) {
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    // Aborts the request in progress, and any the call would still make
+    public synchronized void cancel() {
+        cancelled = true;
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    // True on a thread whose call was cancelled: its failure says nothing about the provider
+    public static boolean isCancelled() {
+        ProviderCall call = CURRENT.get();
+        return call != null && call.cancelled();
+    }
+
+    public static void register(ClassicHttpRequest request) {
+        ProviderCall call = CURRENT.get();
+        if (call != null && request instanceof HttpUriRequestBase abortable) {
+            call.attach(abortable);
+        }
+    }
+
+    private synchronized void attach(HttpUriRequestBase request) {
+        this.request = request;
+        if (cancelled) {
+            request.abort();
+        }
+    }
+
+    private synchronized boolean cancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cimba.meetingminutes.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Provider calls and pipeline outcomes as Micrometer meters (/actuator/metrics, /actuator/prometheus):
+//   provider.requests        timer per provider/model/status, one sample per HTTP attempt
+//   provider.rate_limited    429 responses per provider/model
+//   provider.payload         request and response body bytes per provider/model
+//   minutes.outcomes         where transcripts and minutes came from (provider, demo, heuristic)
+//   minutes.parse.failures   model output that could not be read as intended
+//   minutes.prompt.tokens    estimated transcript tokens per request before and after compaction,
+//                            minutes.prompt.tokens.saved the running total of the difference
+@Component
+@RequiredArgsConstructor
+public class ProviderMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    // Status is "ok", the HTTP status code, or "io_error"/"error" when there was no response
+    public <T> T record(String provider, String model, Supplier<T> call) {
+        long started = System.nanoTime();
+        String status = "error";
+        try {
+            T result = call.get();
+            status = "ok";
+            return result;
+        } catch (HttpStatusCodeException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            if (e.getStatusCode().value() == 429) {
+                Counter.builder("provider.rate_limited")
+                        .tag("provider", provider)
+                        .tag("model", model)
+                        .register(meterRegistry)
+                        .increment();
+            }
+            throw e;
+        } catch (ResourceAccessException e) {
+            status = "io_error";
+            throw e;
+        } finally {
+            Timer.builder("provider.requests")
+                    .description("Provider HTTP attempts, after rate limiting and circuit breaking")
+                    .tag("provider", provider)
+                    .tag("model", model)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void requestBytes(String provider, String model, long bytes) {
+        payload(provider, model, "request", bytes);
+    }
+
+    public void responseBytes(String provider, String model, long bytes) {
+        payload(provider, model, "response", bytes);
+    }
+
+    // stage is "transcription" or "minutes", source "provider", "demo" or "heuristic"
+    public void outcome(String stage, String source) {
+        Counter.builder("minutes.outcomes")
+                .tag("stage", stage)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void parseFailure(String kind) {
+        Counter.builder("minutes.parse.failures")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void promptTokens(int original, int compacted) {
+        promptTokens("original", original);
+        promptTokens("compacted", compacted);
+        Counter.builder("minutes.prompt.tokens.saved")
+                .baseUnit("tokens")
+                .register(meterRegistry)
+                .increment(Math.max(0, original - compacted));
+    }
+
+    private void promptTokens(String stage, int tokens) {
+        DistributionSummary.builder("minutes.prompt.tokens")
+                .baseUnit("tokens")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+
+    private void payload(String provider, String model, String direction, long bytes) {
+        DistributionSummary.builder("provider.payload")
+                .baseUnit("bytes")
+                .tag("provider", provider)
+                .tag("model", model)
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+}
@@ -0,0 +1,160 @@
+package com.cimba.meetingminutes.client;
+
+import com.cimba.meetingminutes.config.ProviderProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Queues provider calls behind a token bucket per API key and model, so bursts use the whole
+// quota instead of hitting 429s. A 429 pauses the bucket for its Retry-After and the call is
+// retried, as long as that fits in the caller's wait budget.
+@Slf4j
+@Component
+public class RateLimitScheduler {
+
+    // Gemini puts the hint in the error body: "retryDelay": "36s"
+    private static final Pattern RETRY_DELAY = Pattern.compile("\"retryDelay\"\\s*:\\s*\"(\\d+)(?:\\.\\d+)?s\"");
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public <T> T execute(String bucketKey, RequestPriority priority, ProviderProperties.RateLimit settings,
+                         Supplier<T> call) {
+        TokenBucket bucket = buckets.computeIfAbsent(bucketKey, key -> new TokenBucket(key, settings));
+        long deadline = System.nanoTime() + settings.getMaxWait().toNanos();
+
+        while (true) {
+            bucket.acquire(priority, deadline);
+            try {
+                return call.get();
+            } catch (HttpStatusCodeException e) {
+                if (e.getStatusCode().value() != 429) {
+                    throw e;
+                }
+                Duration retryAfter = retryAfter(e, settings.getDefaultRetryAfter());
+                bucket.pause(retryAfter);
+                log.warn("Rate limited bucket={} retryAfterSeconds={}", bucketKey, retryAfter.toSeconds());
+                if (System.nanoTime() + retryAfter.toNanos() > deadline) {
+                    throw new RetryLaterException("Provider quota exhausted for " + bucketKey, retryAfter);
+                }
+            }
+        }
+    }
+
+    public static String bucketKey(String provider, String apiKey, String model) {
+        // Never keep the raw key around, a hash is enough to tell keys apart
+        return provider + ":" + Integer.toHexString(String.valueOf(apiKey).hashCode()) + ":" + model;
+    }
+
+    static Duration retryAfter(HttpStatusCodeException e, Duration fallback) {
+        HttpHeaders headers = e.getResponseHeaders();
+        String header = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (header != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(header.trim()));
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    Duration untilDate = Duration.between(ZonedDateTime.now(),
+                            ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                    return untilDate.isNegative() ? Duration.ZERO : untilDate;
+                } catch (RuntimeException notADate) {
+                    // fall through to the body hint
+                }
+            }
+        }
+        Matcher matcher = RETRY_DELAY.matcher(e.getResponseBodyAsString());
+        if (matcher.find()) {
+            return Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+        }
+        return fallback;
+    }
+
+    static class TokenBucket {
+        private final String name;
+        private final ProviderProperties.RateLimit settings;
+        private final double tokensPerNano;
+        private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        private long pausedUntil = 0;
+        private long sequence = 0;
+
+        TokenBucket(String name, ProviderProperties.RateLimit settings) {
+            this.name = name;
+            this.settings = settings;
+            this.tokensPerNano = settings.getRequestsPerMinute() / 60_000_000_000.0;
+            this.tokens = settings.getBurst();
+        }
+
+        synchronized void acquire(RequestPriority priority, long deadline) {
+            if (waiters.size() >= settings.getMaxQueue()) {
+                throw new RetryLaterException("Too many requests queued for " + name, estimatedWait());
+            }
+            Waiter waiter = new Waiter(priority.ordinal(), sequence++);
+            waiters.add(waiter);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    boolean paused = now < pausedUntil;
+                    if (!paused && waiters.peek() == waiter && tokens >= 1) {
+                        tokens -= 1;
+                        return;
+                    }
+
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        throw new RetryLaterException("Timed out waiting for provider quota on " + name, estimatedWait());
+                    }
+                    long untilReady = paused ? pausedUntil - now : (long) Math.max(1, (1 - tokens) / tokensPerNano);
+                    long waitNanos = Math.max(1_000_000, Math.min(remaining, untilReady));
+                    wait(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RetryLaterException("Interrupted waiting for provider quota on " + name, estimatedWait());
+            } finally {
+                waiters.remove(waiter);
+                notifyAll();
+            }
+        }
+
+        synchronized void pause(Duration retryAfter) {
+            pausedUntil = Math.max(pausedUntil, System.nanoTime() + retryAfter.toNanos());
+            tokens = 0;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(settings.getBurst(), tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+
+        // Rough time until everyone queued now would have had a token
+        private Duration estimatedWait() {
+            long now = System.nanoTime();
+            long pause = Math.max(0, pausedUntil - now);
+            double missing = Math.max(0, waiters.size() + 1 - tokens);
+            return Duration.ofNanos(pause + (long) (missing / tokensPerNano)).plusSeconds(1);
+        }
+    }
+
+    private record Waiter(int priority, long sequence) implements Comparable<Waiter> {
+        @Override
+        public int compareTo(Waiter other) {
+            return priority != other.priority
+                    ? Integer.compare(priority, other.priority)
+                    : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.cimba.meetingminutes.client;
+
+// Order in which queued provider requests get tokens; text requests are cheap and interactive
+public enum RequestPriority {
+    TEXT,
+    AUDIO
+}
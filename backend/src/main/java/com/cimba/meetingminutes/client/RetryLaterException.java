@@ -0,0 +1,18 @@
+package com.cimba.meetingminutes.client;
+
+import java.time.Duration;
+
+// Provider quota is exhausted for longer than the request may wait
+public class RetryLaterException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RetryLaterException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
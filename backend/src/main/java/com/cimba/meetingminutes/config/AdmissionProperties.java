@@ -0,0 +1,39 @@
+package com.cimba.meetingminutes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "minutes.admission")
+public class AdmissionProperties {
+
+    // 74 threads at most between the two lanes, well under Tomcat's default 200
+    private Lane text = Lane.of(8, 32, 32, Duration.ofSeconds(10));
+    private Lane audio = Lane.of(2, 6, 4, Duration.ofSeconds(30));
+
+    @Data
+    public static class Lane {
+        // Concurrent requests, adjusted between minLimit and maxLimit from observed latency
+        private int initialLimit;
+        private int minLimit = 1;
+        private int maxLimit;
+        // Requests beyond maxQueue, or still queued after maxWait, get a 503 with Retry-After
+        private int maxQueue;
+        private Duration maxWait;
+        // Recent latency above tolerance times the usual latency counts as a sign of overload
+        private double latencyTolerance = 2.0;
+        // Multiplicative decrease on overload; the limit grows back by one per limit requests
+        private double backoffRatio = 0.8;
+
+        static Lane of(int initialLimit, int maxLimit, int maxQueue, Duration maxWait) {
+            Lane lane = new Lane();
+            lane.setInitialLimit(initialLimit);
+            lane.setMaxLimit(maxLimit);
+            lane.setMaxQueue(maxQueue);
+            lane.setMaxWait(maxWait);
+            return lane;
+        }
+    }
+}
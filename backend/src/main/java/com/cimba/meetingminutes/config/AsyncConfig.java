@@ -0,0 +1,94 @@
+package com.cimba.meetingminutes.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AsyncConfig {
+
+    // Runs claimed jobs (transcription + summarization) off the servlet threads. The queue itself
+    // is the job table, jobs are only handed over when a thread is free
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService minutesJobExecutor(@Value("${minutes.jobs.pool-size:4}") int poolSize) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(poolSize), namedThreads("minutes-job-"));
+    }
+
+    // Polls the job table and renews the leases of running jobs; its own thread, so a slow
+    // scheduled task elsewhere cannot let a lease expire
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService minutesJobScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(namedThreads("minutes-job-lease-"));
+    }
+
+    // Runs SSE minutes streams, each holds a thread until the model has finished answering
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService minutesStreamExecutor(
+            @Value("${minutes.stream.pool-size:8}") int poolSize,
+            @Value("${minutes.stream.queue-capacity:50}") int queueCapacity) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), namedThreads("minutes-stream-"));
+    }
+
+    // Runs live session updates, delayed by each session's update interval, and their final save
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService minutesLiveExecutor(@Value("${minutes.live.pool-size:4}") int poolSize) {
+        return Executors.newScheduledThreadPool(poolSize, namedThreads("minutes-live-"));
+    }
+
+    // Summarizes batch ingestion items, shared by all running batches
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService minutesBatchExecutor(@Value("${minutes.batch.parallelism:4}") int parallelism) {
+        return new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), namedThreads("minutes-batch-"));
+    }
+
+    // Transcribes the segments of long recordings, shared by all uploads
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService minutesTranscriptionExecutor(@Value("${minutes.audio.segments.parallelism:4}") int parallelism) {
+        return new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), namedThreads("minutes-segment-"));
+    }
+
+    // Shared pool for per-chunk Gemini calls, bounds how many chunk calls run at once
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService minutesSummaryExecutor(@Value("${gemini.chunking.parallelism:4}") int parallelism) {
+        return new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1000), namedThreads("minutes-chunk-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Runs hedged model attempts; bounded, a full pool rejects the attempt and the request goes without that hedge
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService minutesHedgeExecutor(@Value("${gemini.hedging.max-concurrent-attempts:32}") int maxAttempts) {
+        return new ThreadPoolExecutor(0, maxAttempts, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), namedThreads("minutes-hedge-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Fires the hedge timers, the attempts themselves run on minutesHedgeExecutor
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService minutesHedgeScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(namedThreads("minutes-hedge-timer-"));
+    }
+
+    static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.cimba.meetingminutes.config;
+
+import com.cimba.meetingminutes.client.ProviderCall;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+// Each provider gets its own keep-alive connection pool and timeouts, so a slow provider
+// cannot hold on to the connections of the other one
+@Configuration
+@EnableConfigurationProperties(ProviderProperties.class)
+public class ProviderClientConfig {
+
+    @Bean
+    public RestTemplate geminiRestTemplate(ProviderProperties properties, MeterRegistry meterRegistry) {
+        return pooledRestTemplate("gemini", properties.getGemini(), meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate huggingFaceRestTemplate(ProviderProperties properties, MeterRegistry meterRegistry) {
+        return pooledRestTemplate("huggingface", properties.getHuggingface(), meterRegistry);
+    }
+
+    private RestTemplate pooledRestTemplate(String provider, ProviderProperties.Provider settings,
+                                            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setMaxConnPerRoute(settings.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(settings.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(settings.getReadTimeout()))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(settings.getPoolTimeout()))
+                        .setResponseTimeout(Timeout.of(settings.getReadTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+
+        registerPoolGauge(meterRegistry, provider, "leased", pool, p -> p.getTotalStats().getLeased());
+        registerPoolGauge(meterRegistry, provider, "available", pool, p -> p.getTotalStats().getAvailable());
+        registerPoolGauge(meterRegistry, provider, "pending", pool, p -> p.getTotalStats().getPending());
+        registerPoolGauge(meterRegistry, provider, "max", pool, p -> p.getTotalStats().getMax());
+
+        // Every request is registered with the caller's ProviderCall, which can abort it
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected void postProcessHttpRequest(ClassicHttpRequest request) {
+                ProviderCall.register(request);
+            }
+        });
+    }
+
+    private void registerPoolGauge(MeterRegistry meterRegistry, String provider, String state,
+                                   PoolingHttpClientConnectionManager pool,
+                                   java.util.function.ToDoubleFunction<PoolingHttpClientConnectionManager> value) {
+        Gauge.builder("provider.pool.connections", pool, value)
+                .tag("provider", provider)
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.cimba.meetingminutes.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "providers")
+public class ProviderProperties {
+
+    private Provider gemini = Provider.at("https://generativelanguage.googleapis.com/v1beta/");
+    private Provider huggingface = Provider.at("https://router.huggingface.co/hf-inference/models/");
+
+    @Data
+    public static class Provider {
+        // Point at a local stub for load tests; model names and paths are appended to it
+        private String baseUrl;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(120);
+        // How long a call may wait for a free pooled connection
+        private Duration poolTimeout = Duration.ofSeconds(10);
+        private int maxConnections = 50;
+        private Breaker breaker = new Breaker();
+        private RateLimit rateLimit = new RateLimit();
+
+        static Provider at(String baseUrl) {
+            Provider provider = new Provider();
+            provider.setBaseUrl(baseUrl);
+            return provider;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        }
+    }
+
+    @Data
+    public static class Breaker {
+        // Outcomes of the last windowSize calls decide whether the breaker opens
+        private int windowSize = 20;
+        private int minimumCalls = 5;
+        private int failureRatePercent = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class RateLimit {
+        // Token bucket per API key and model
+        private int requestsPerMinute = 15;
+        private int burst = 5;
+        // Requests beyond maxQueue, or still waiting after maxWait, get a "retry later"
+        private int maxQueue = 100;
+        private Duration maxWait = Duration.ofSeconds(30);
+        // Used when a 429 carries no Retry-After hint
+        private Duration defaultRetryAfter = Duration.ofSeconds(10);
+    }
+}
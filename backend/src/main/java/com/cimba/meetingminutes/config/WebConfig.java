@@ -0,0 +1,28 @@
+package com.cimba.meetingminutes.config;
+
+import com.cimba.meetingminutes.client.RequestPriority;
+import com.cimba.meetingminutes.controller.AdmissionInterceptor;
+import com.cimba.meetingminutes.service.AdmissionController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionController admissionController;
+
+    // Only the endpoints that do the work in the request; streams, batches, jobs and live sessions
+    // have bounded pools and queues of their own
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionController, RequestPriority.TEXT))
+                .addPathPatterns("/api/minutes/transcript");
+        registry.addInterceptor(new AdmissionInterceptor(admissionController, RequestPriority.AUDIO))
+                .addPathPatterns("/api/minutes/audio");
+    }
+}
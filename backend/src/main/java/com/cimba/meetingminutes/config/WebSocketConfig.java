@@ -0,0 +1,36 @@
+package com.cimba.meetingminutes.config;
+
+import com.cimba.meetingminutes.controller.LiveMinutesHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final LiveMinutesHandler liveMinutesHandler;
+
+    @Value("${minutes.live.allowed-origins:http://localhost:3000}")
+    private String[] allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveMinutesHandler, "/ws/minutes/live").setAllowedOrigins(allowedOrigins);
+    }
+
+    // Fragments are a few sentences each; the idle timeout outlasts pauses in the meeting
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(64 * 1024);
+        container.setMaxSessionIdleTimeout(30 * 60 * 1000L);
+        return container;
+    }
+}
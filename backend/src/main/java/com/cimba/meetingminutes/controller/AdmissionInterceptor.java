@@ -0,0 +1,41 @@
+package com.cimba.meetingminutes.controller;
+
+import com.cimba.meetingminutes.client.RequestPriority;
+import com.cimba.meetingminutes.service.AdmissionController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Admits a minutes request before its body is read (multipart is resolved lazily), so a rejected
+// upload is never spooled. The permit is returned when the response is complete.
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionController admissionController;
+    private final RequestPriority lane;
+
+    public AdmissionInterceptor(AdmissionController admissionController, RequestPriority lane) {
+        this.admissionController = admissionController;
+        this.lane = lane;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, admissionController.acquire(lane));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionController.Permit permit) {
+            // 503 and 429 mean the providers (or their quota) are saturated
+            int status = response.getStatus();
+            permit.release(status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+    }
+}
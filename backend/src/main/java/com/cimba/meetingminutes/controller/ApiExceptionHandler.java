@@ -0,0 +1,34 @@
+package com.cimba.meetingminutes.controller;
+
+import com.cimba.meetingminutes.client.RetryLaterException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Provider quota is exhausted or the server is at its admission limit: tell the client when to
+    // come back instead of answering wrongly
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<Map<String, Object>> handleRetryLater(RetryLaterException e) {
+        long retryAfterSeconds = Math.max(1, e.getRetryAfter().toSeconds());
+        return serviceUnavailable(e.getMessage(), retryAfterSeconds);
+    }
+
+    static ResponseEntity<Map<String, Object>> serviceUnavailable(String message, long retryAfterSeconds) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Retry later");
+        body.put("message", message);
+        body.put("retryAfterSeconds", retryAfterSeconds);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
+}
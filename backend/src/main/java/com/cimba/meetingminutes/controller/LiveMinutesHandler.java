@@ -0,0 +1,125 @@
+package com.cimba.meetingminutes.controller;
+
+import com.cimba.meetingminutes.dto.LiveMessage;
+import com.cimba.meetingminutes.service.LiveMinutesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+// WebSocket /ws/minutes/live?title=...: the client sends {"type":"fragment","text":...} while the
+// meeting runs and {"type":"end"} at the end; the server pushes {"type":"minutes",...} after each
+// update and {"type":"saved","minutes":...} once the minutes are stored, then closes the socket.
+// A connection that drops is saved the same way.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveMinutesHandler extends TextWebSocketHandler {
+
+    private static final String SESSION_ATTRIBUTE = "liveSession";
+    private static final String SOCKET_ATTRIBUTE = "liveSocket";
+
+    private final LiveMinutesService liveService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession socket) throws IOException {
+        // Minutes are pushed from the live executor while the socket thread may be sending an error
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(socket, 10_000, 512 * 1024);
+        LiveMinutesService.Session session = liveService.open(title(socket), new SocketListener(concurrent));
+        if (session == null) {
+            socket.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many live sessions, retry later"));
+            return;
+        }
+        socket.getAttributes().put(SESSION_ATTRIBUTE, session);
+        socket.getAttributes().put(SOCKET_ATTRIBUTE, concurrent);
+        send(concurrent, Map.of("type", "started", "sessionId", session.getId()));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession socket, TextMessage message) {
+        LiveMinutesService.Session session = (LiveMinutesService.Session) socket.getAttributes().get(SESSION_ATTRIBUTE);
+        if (session == null) {
+            return;
+        }
+        LiveMessage live;
+        try {
+            live = objectMapper.readValue(message.getPayload(), LiveMessage.class);
+        } catch (IOException e) {
+            send((WebSocketSession) socket.getAttributes().get(SOCKET_ATTRIBUTE),
+                    Map.of("type", "error", "message", "Expected a JSON message"));
+            return;
+        }
+        if ("fragment".equals(live.getType())) {
+            liveService.append(session, live.getText());
+        } else if ("end".equals(live.getType())) {
+            liveService.close(session);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession socket, CloseStatus status) {
+        LiveMinutesService.Session session = (LiveMinutesService.Session) socket.getAttributes().get(SESSION_ATTRIBUTE);
+        if (session != null) {
+            liveService.close(session);
+        }
+    }
+
+    private String title(WebSocketSession socket) {
+        String title = socket.getUri() == null ? null
+                : UriComponentsBuilder.fromUri(socket.getUri()).build().getQueryParams().getFirst("title");
+        if (title == null || title.isBlank()) {
+            return "Live meeting " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+        }
+        return URLDecoder.decode(title, StandardCharsets.UTF_8);
+    }
+
+    private void send(WebSocketSession socket, Map<String, Object> message) {
+        if (!socket.isOpen()) {
+            return;
+        }
+        try {
+            socket.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Live message not delivered: {}", e.getMessage());
+        }
+    }
+
+    // A client that went away only stops the messages, the session is still saved
+    private class SocketListener implements LiveMinutesService.Listener {
+        private final WebSocketSession socket;
+
+        SocketListener(WebSocketSession socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void send(Map<String, Object> message) {
+            LiveMinutesHandler.this.send(socket, message);
+        }
+
+        @Override
+        public void finished() {
+            if (socket.isOpen()) {
+                try {
+                    socket.close(CloseStatus.NORMAL);
+                } catch (IOException e) {
+                    log.debug("Live socket close failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,42 +1,177 @@
 package com.cimba.meetingminutes.controller;
 
+import com.cimba.meetingminutes.dto.ActionItemResponse;
+import com.cimba.meetingminutes.dto.ActionItemUpdate;
+import com.cimba.meetingminutes.dto.JobResponse;
+import com.cimba.meetingminutes.dto.MinutesPage;
 import com.cimba.meetingminutes.dto.MinutesResponse;
+import com.cimba.meetingminutes.dto.SearchResponse;
 import com.cimba.meetingminutes.dto.TranscriptRequest;
 import com.cimba.meetingminutes.service.MeetingMinutesService;
+import com.cimba.meetingminutes.service.MinutesBatchService;
+import com.cimba.meetingminutes.service.MinutesItemService;
+import com.cimba.meetingminutes.service.MinutesJobService;
+import com.cimba.meetingminutes.service.MinutesStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/minutes")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = MeetingMinutesController.NEXT_CURSOR_HEADER)
 @RequiredArgsConstructor
 public class MeetingMinutesController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MeetingMinutesService service;
+    private final MinutesJobService jobService;
+    private final MinutesStreamService streamService;
+    private final MinutesBatchService batchService;
+    private final MinutesItemService itemService;
+
+    // Cached for good where ids are never reused. With the in-memory database they start over on
+    // restart, so there (0) responses are only revalidated by ETag
+    @Value("${minutes.http.detail-max-age:0}")
+    private Duration detailMaxAge;
+
+    // A backfill can stream results for hours; other async requests keep the default timeout
+    @Value("${minutes.batch.timeout:6h}")
+    private Duration batchTimeout;
     
     @PostMapping("/transcript")
     public ResponseEntity<MinutesResponse> processTranscript(@RequestBody TranscriptRequest request) {
         return ResponseEntity.ok(service.processTranscript(request));
     }
     
+    // Same as /transcript, but each section is pushed as a server-sent event as soon as it is complete
+    @PostMapping(value = "/transcript/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTranscript(@RequestBody TranscriptRequest request) {
+        return streamService.streamTranscript(request);
+    }
+    
+    // Body is a JSON array or NDJSON of {title, transcript}; one NDJSON result line per item as it is saved
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> ingestBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StreamingResponseBody results = batchService.ingest(request.getInputStream());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(batchTimeout.toMillis(), () -> {
+            results.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+    
     @PostMapping("/audio")
     public ResponseEntity<MinutesResponse> processAudio(
             @RequestParam("title") String title,
             @RequestParam("file") MultipartFile file) {
         return ResponseEntity.ok(service.processAudio(title, file));
     }
+
+    // Queued like audio jobs; with several nodes on one database any of them may run it
+    @PostMapping("/transcript/jobs")
+    public ResponseEntity<JobResponse> submitTranscriptJob(@RequestBody TranscriptRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.submitTranscript(request));
+    }
+
+    @PostMapping("/audio/jobs")
+    public ResponseEntity<JobResponse> submitAudioJob(
+            @RequestParam("title") String title,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.submitAudio(title, file));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
     
+    // Newest first; the cursor for the next page comes back in the X-Next-Cursor header.
+    // Revalidated on every view, 304 while no minutes were added
     @GetMapping
-    public ResponseEntity<List<MinutesResponse>> getAllMinutes() {
-        return ResponseEntity.ok(service.getAllMinutes());
+    public ResponseEntity<List<MinutesResponse>> getAllMinutes(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "sections", defaultValue = "true") boolean sections,
+            WebRequest webRequest) {
+        // Taken before the query, so minutes added meanwhile change the tag of the next request
+        String eTag = service.pageETag(cursor, size, sections);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        MinutesPage page = service.getMinutesPage(cursor, size, sections);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<SearchResponse> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.search(query, page, size));
+    }
+
+    // Open action items of one person and/or due in a date range (ISO dates, both ends inclusive)
+    @GetMapping("/action-items")
+    public ResponseEntity<List<ActionItemResponse>> getOpenActionItems(
+            @RequestParam(value = "assignee", required = false) String assignee,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(itemService.findOpenItems(assignee, from, to));
+    }
+
+    @PatchMapping("/action-items/{id}")
+    public ResponseEntity<ActionItemResponse> updateActionItem(@PathVariable Long id, @RequestBody ActionItemUpdate update) {
+        return ResponseEntity.ok(itemService.updateItem(id, update.getDone()));
+    }
+
+    // Minutes never change, a known ETag is answered with 304 before anything is read
     @GetMapping("/{id}")
-    public ResponseEntity<MinutesResponse> getMinutesById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getMinutesById(id));
+    public ResponseEntity<MinutesResponse> getMinutesById(@PathVariable Long id, WebRequest webRequest) {
+        if (service.knownETag(id, "minutes").filter(webRequest::checkNotModified).isPresent()) {
+            return null;
+        }
+        MinutesResponse minutes = service.getMinutesById(id);
+        return ResponseEntity.ok()
+                .eTag(service.eTag("minutes", minutes))
+                .cacheControl(detailCache())
+                .body(minutes);
+    }
+
+    @GetMapping(value = "/{id}/transcript", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getTranscript(@PathVariable Long id, WebRequest webRequest) {
+        Optional<String> eTag = service.knownETag(id, "transcript");
+        if (eTag.filter(webRequest::checkNotModified).isPresent()) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        eTag.ifPresent(tag -> response.eTag(tag).cacheControl(detailCache()));
+        return response.body(service.getTranscript(id));
+    }
+
+    private CacheControl detailCache() {
+        return detailMaxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(detailMaxAge).cachePublic().immutable();
     }
 }
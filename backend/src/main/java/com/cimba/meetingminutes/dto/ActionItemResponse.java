@@ -0,0 +1,19 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ActionItemResponse {
+    private Long id;
+    private Long minutesId;
+    private String task;
+    private String assignee;
+    private String due;
+    // ISO date when the deadline names a day, null otherwise
+    private String dueDate;
+    private boolean done;
+}
@@ -0,0 +1,8 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.Data;
+
+@Data
+public class ActionItemUpdate {
+    private Boolean done;
+}
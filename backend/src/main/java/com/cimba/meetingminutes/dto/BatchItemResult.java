@@ -0,0 +1,31 @@
+package com.cimba.meetingminutes.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One NDJSON line of a batch response; index is the position of the item in the request
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private Integer index;
+    private String status;
+    private MinutesResponse minutes;
+    private String error;
+    private Long retryAfterSeconds;
+
+    public static BatchItemResult saved(int index, MinutesResponse minutes) {
+        return new BatchItemResult(index, "saved", minutes, null, null);
+    }
+
+    public static BatchItemResult failed(Integer index, String error) {
+        return new BatchItemResult(index, "failed", null, error, null);
+    }
+
+    public static BatchItemResult rateLimited(int index, long retryAfterSeconds) {
+        return new BatchItemResult(index, "rate_limited", null, "Provider quota exhausted", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobResponse {
+    private Long id;
+    private String title;
+    private String status;
+    private String error;
+    private String createdAt;
+    private String updatedAt;
+    // Present once the job is DONE
+    private MinutesResponse result;
+}
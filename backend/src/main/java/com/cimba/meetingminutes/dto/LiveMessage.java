@@ -0,0 +1,10 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.Data;
+
+// Client message on /ws/minutes/live: "fragment" with the text said since the last one, or "end"
+@Data
+public class LiveMessage {
+    private String type;
+    private String text;
+}
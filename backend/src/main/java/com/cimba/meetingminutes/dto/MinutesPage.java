@@ -0,0 +1,16 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MinutesPage {
+    private List<MinutesResponse> items;
+    // Opaque, pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
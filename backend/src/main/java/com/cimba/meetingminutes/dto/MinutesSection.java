@@ -0,0 +1,14 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One completed section of streamed minutes: summary, keyDecisions or actionItems
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MinutesSection {
+    private String name;
+    private String content;
+}
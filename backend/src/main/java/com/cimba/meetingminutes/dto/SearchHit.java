@@ -0,0 +1,15 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHit {
+    private Long id;
+    private String title;
+    private String createdAt;
+    private double score;
+}
@@ -0,0 +1,18 @@
+package com.cimba.meetingminutes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResponse {
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<SearchHit> hits;
+}
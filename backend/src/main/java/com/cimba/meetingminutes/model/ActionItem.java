@@ -0,0 +1,40 @@
+package com.cimba.meetingminutes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// One task from a meeting's ACTION ITEMS, so open work can be looked up by person or due date
+@Entity
+@Data
+@Table(indexes = {
+        @Index(name = "idx_action_item_assignee", columnList = "assignee_key, done, due_date"),
+        @Index(name = "idx_action_item_due", columnList = "done, due_date"),
+        @Index(name = "idx_action_item_minutes", columnList = "minutes_id")
+})
+public class ActionItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "action_item_seq")
+    @SequenceGenerator(name = "action_item_seq", sequenceName = "action_item_seq", allocationSize = 50)
+    private Long id;
+
+    private Long minutesId;
+
+    @Column(length = 2000)
+    private String task;
+
+    // As written in the minutes, e.g. "Rahul"
+    private String assignee;
+
+    // Lower-cased assignee used for lookups; null when nobody was assigned
+    private String assigneeKey;
+
+    // As written in the minutes, e.g. "Thursday EOD"
+    private String dueText;
+
+    // Resolved against the meeting date when the text names a day; null otherwise
+    private LocalDate dueDate;
+
+    private boolean done;
+}
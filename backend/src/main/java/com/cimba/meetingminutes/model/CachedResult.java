@@ -0,0 +1,20 @@
+package com.cimba.meetingminutes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+public class CachedResult {
+    // "<kind>:<sha-256 hex>"
+    @Id
+    @Column(length = 128)
+    private String cacheKey;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // Set on every write, a refreshed entry starts a new TTL
+    private LocalDateTime createdAt;
+}
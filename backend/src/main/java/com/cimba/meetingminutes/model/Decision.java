@@ -0,0 +1,23 @@
+package com.cimba.meetingminutes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// One entry of a meeting's KEY DECISIONS
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_decision_minutes", columnList = "minutes_id"))
+public class Decision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "decision_seq")
+    @SequenceGenerator(name = "decision_seq", sequenceName = "decision_seq", allocationSize = 50)
+    private Long id;
+
+    private Long minutesId;
+
+    @Column(length = 2000)
+    private String decision;
+
+    @Column(length = 2000)
+    private String details;
+}
@@ -0,0 +1,6 @@
+package com.cimba.meetingminutes.model;
+
+public enum JobKind {
+    AUDIO,
+    TRANSCRIPT
+}
@@ -0,0 +1,9 @@
+package com.cimba.meetingminutes.model;
+
+public enum JobStatus {
+    QUEUED,
+    TRANSCRIBING,
+    SUMMARIZING,
+    DONE,
+    FAILED
+}
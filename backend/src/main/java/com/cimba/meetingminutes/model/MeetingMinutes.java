@@ -6,15 +6,24 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(indexes = @Index(name = "idx_minutes_created_at_id", columnList = "created_at, id"))
 public class MeetingMinutes {
+    // Sequence ids are allocated in blocks of 50, so inserts can be JDBC-batched (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_minutes_seq")
+    @SequenceGenerator(name = "meeting_minutes_seq", sequenceName = "meeting_minutes_seq", allocationSize = 50)
     private Long id;
     
     private String title;
     
-    @Column(columnDefinition = "TEXT")
+    // Not a column: carried to TranscriptStore on save, which keeps it compressed in StoredTranscript
+    @Transient
     private String transcript;
+
+    // Not a column: decisions and action items as JSON when the model answered with structured
+    // output, carried to MinutesItemService on save; null for text and heuristic minutes
+    @Transient
+    private String structuredItems;
     
     @Column(columnDefinition = "TEXT")
     private String summary;
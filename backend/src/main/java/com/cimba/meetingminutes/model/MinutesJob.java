@@ -0,0 +1,68 @@
+package com.cimba.meetingminutes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// A queued submission, shared by all nodes: whoever holds the lease runs it
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_minutes_job_status", columnList = "status, id"))
+public class MinutesJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    private JobKind kind;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    // TRANSCRIPT jobs, cleared once the job is finished
+    @Lob
+    private String transcript;
+
+    // AUDIO jobs: the spooled upload, in a directory every node can read
+    @Column(length = 1000)
+    private String audioPath;
+
+    private String audioFilename;
+
+    private String audioContentType;
+
+    private Long audioSize;
+
+    // Node running the job and until when; an expired lease can be claimed by any node. A job
+    // postponed for provider quota has no owner and is not claimable before leaseExpiresAt
+    @Column(length = 200)
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    // Claims so far, more than one only when a node died or lost the lease
+    private Integer attempts;
+
+    // Set once the job is DONE
+    private Long minutesId;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
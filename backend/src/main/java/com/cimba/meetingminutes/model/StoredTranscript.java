@@ -0,0 +1,45 @@
+package com.cimba.meetingminutes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.Persistable;
+
+// Deflate-compressed transcript of one meeting, kept out of the MeetingMinutes row so list and
+// detail queries never read it; only TranscriptStore loads and inflates it
+@Entity
+@Data
+public class StoredTranscript implements Persistable<Long> {
+    // Same id as the MeetingMinutes row
+    @Id
+    private Long minutesId;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    // Characters before compression, used to size the inflate buffer
+    private int originalLength;
+
+    // The id is assigned, not generated, so Spring Data cannot tell a new row from a stored one by
+    // it and would merge (a SELECT per row) instead of persisting in one insert batch
+    @Transient
+    @EqualsAndHashCode.Exclude
+    private boolean stored;
+
+    @Override
+    public Long getId() {
+        return minutesId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cimba.meetingminutes.repository;
+
+import com.cimba.meetingminutes.model.ActionItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Every lookup is served by one of the ActionItem indexes
+@Repository
+public interface ActionItemRepository extends JpaRepository<ActionItem, Long> {
+
+    List<ActionItem> findByAssigneeKeyAndDoneFalseOrderByDueDateAscIdAsc(String assigneeKey);
+
+    List<ActionItem> findByAssigneeKeyAndDoneFalseAndDueDateBetweenOrderByDueDateAscIdAsc(
+            String assigneeKey, LocalDate from, LocalDate to);
+
+    List<ActionItem> findByDoneFalseAndDueDateBetweenOrderByDueDateAscIdAsc(LocalDate from, LocalDate to);
+
+    List<ActionItem> findByMinutesIdOrderByIdAsc(Long minutesId);
+}
@@ -0,0 +1,20 @@
+package com.cimba.meetingminutes.repository;
+
+import com.cimba.meetingminutes.model.CachedResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CachedResultRepository extends JpaRepository<CachedResult, String> {
+
+    // Entries past their TTL, which reads already ignore
+    @Modifying
+    @Transactional
+    @Query("delete from CachedResult c where c.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
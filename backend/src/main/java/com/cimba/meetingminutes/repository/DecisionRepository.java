@@ -0,0 +1,13 @@
+package com.cimba.meetingminutes.repository;
+
+import com.cimba.meetingminutes.model.Decision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DecisionRepository extends JpaRepository<Decision, Long> {
+
+    List<Decision> findByMinutesIdOrderByIdAsc(Long minutesId);
+}
@@ -1,9 +1,48 @@
 package com.cimba.meetingminutes.repository;
 
 import com.cimba.meetingminutes.model.MeetingMinutes;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MeetingMinutesRepository extends JpaRepository<MeetingMinutes, Long> {
+
+    // Keyset pagination, newest first, served by the (created_at, id) index
+
+    @Query("select m.id as id, m.title as title, m.summary as summary, m.keyDecisions as keyDecisions, "
+            + "m.actionItems as actionItems, m.createdAt as createdAt from MeetingMinutes m "
+            + "order by m.createdAt desc, m.id desc")
+    List<MinutesView> findLatest(Limit limit);
+
+    @Query("select m.id as id, m.title as title, m.summary as summary, m.keyDecisions as keyDecisions, "
+            + "m.actionItems as actionItems, m.createdAt as createdAt from MeetingMinutes m "
+            + "where m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id) "
+            + "order by m.createdAt desc, m.id desc")
+    List<MinutesView> findBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    // Oldest first from a point on, for picking up minutes saved by other nodes
+    @Query("select m.id as id, m.title as title, m.summary as summary, m.keyDecisions as keyDecisions, "
+            + "m.actionItems as actionItems, m.createdAt as createdAt from MeetingMinutes m "
+            + "where m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id) "
+            + "order by m.createdAt asc, m.id asc")
+    List<MinutesView> findAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("select m.id as id, m.title as title, m.createdAt as createdAt from MeetingMinutes m "
+            + "order by m.createdAt desc, m.id desc")
+    List<MinutesHeaderView> findLatestHeaders(Limit limit);
+
+    @Query("select m.id as id, m.title as title, m.createdAt as createdAt from MeetingMinutes m "
+            + "where m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id) "
+            + "order by m.createdAt desc, m.id desc")
+    List<MinutesHeaderView> findHeadersBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("select m.id as id, m.title as title, m.summary as summary, m.keyDecisions as keyDecisions, "
+            + "m.actionItems as actionItems, m.createdAt as createdAt from MeetingMinutes m where m.id = :id")
+    Optional<MinutesView> findViewById(Long id);
 }
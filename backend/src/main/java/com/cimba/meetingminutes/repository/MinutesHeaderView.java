@@ -0,0 +1,12 @@
+package com.cimba.meetingminutes.repository;
+
+import java.time.LocalDateTime;
+
+// List row without any of the long text columns
+public interface MinutesHeaderView {
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getCreatedAt();
+}
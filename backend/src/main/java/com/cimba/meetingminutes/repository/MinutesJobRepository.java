@@ -0,0 +1,69 @@
+package com.cimba.meetingminutes.repository;
+
+import com.cimba.meetingminutes.model.JobStatus;
+import com.cimba.meetingminutes.model.MinutesJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Leases are taken and checked with conditional updates: an update that matches no row means
+// another node got there first. This stands in for SELECT ... FOR UPDATE SKIP LOCKED, which H2
+// does not have, and works the same on any database.
+@Repository
+public interface MinutesJobRepository extends JpaRepository<MinutesJob, Long> {
+
+    // Oldest first among jobs that are not finished and not leased, or whose lease ran out
+    @Query("select j.id from MinutesJob j where j.status in :active "
+            + "and (j.leaseExpiresAt is null or j.leaseExpiresAt < :now) order by j.id")
+    List<Long> findClaimable(Collection<JobStatus> active, LocalDateTime now, Limit limit);
+
+    long countByStatusAndLeaseOwnerIsNull(JobStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("update MinutesJob j set j.leaseOwner = :owner, j.leaseExpiresAt = :expiresAt, "
+            + "j.attempts = coalesce(j.attempts, 0) + 1, j.updatedAt = :now "
+            + "where j.id = :id and j.status in :active and (j.leaseExpiresAt is null or j.leaseExpiresAt < :now)")
+    int claim(Long id, Collection<JobStatus> active, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("update MinutesJob j set j.leaseExpiresAt = :expiresAt where j.id = :id and j.leaseOwner = :owner "
+            + "and j.status in :active")
+    int renew(Long id, Collection<JobStatus> active, String owner, LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("update MinutesJob j set j.status = :status, j.updatedAt = :now where j.id = :id and j.leaseOwner = :owner")
+    int updateStatus(Long id, String owner, JobStatus status, LocalDateTime now);
+
+    // DONE or FAILED, and the lease and payload let go of
+    @Modifying
+    @Transactional
+    @Query("update MinutesJob j set j.status = :status, j.minutesId = :minutesId, j.error = :error, "
+            + "j.transcript = null, j.leaseOwner = null, j.leaseExpiresAt = null, j.updatedAt = :now "
+            + "where j.id = :id and j.leaseOwner = :owner")
+    int finish(Long id, String owner, JobStatus status, Long minutesId, String error, LocalDateTime now);
+
+    // Providers out of quota: back to the queue with no owner, claimable from notBefore on, and the
+    // attempt it used given back, since waiting for quota says nothing about the job
+    @Modifying
+    @Transactional
+    @Query("update MinutesJob j set j.status = :status, j.leaseOwner = null, j.leaseExpiresAt = :notBefore, "
+            + "j.attempts = j.attempts - 1, j.updatedAt = :now where j.id = :id and j.leaseOwner = :owner")
+    int postpone(Long id, String owner, JobStatus status, LocalDateTime notBefore, LocalDateTime now);
+
+    // Shutdown: the jobs of this node go back to the queue right away instead of when the lease expires
+    @Modifying
+    @Transactional
+    @Query("update MinutesJob j set j.leaseOwner = null, j.leaseExpiresAt = null where j.leaseOwner = :owner "
+            + "and j.status in :active")
+    int releaseAll(Collection<JobStatus> active, String owner);
+}
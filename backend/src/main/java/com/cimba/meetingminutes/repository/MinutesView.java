@@ -0,0 +1,10 @@
+package com.cimba.meetingminutes.repository;
+
+// Everything MinutesResponse needs, never the transcript
+public interface MinutesView extends MinutesHeaderView {
+    String getSummary();
+
+    String getKeyDecisions();
+
+    String getActionItems();
+}
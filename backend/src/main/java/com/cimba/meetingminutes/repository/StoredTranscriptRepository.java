@@ -0,0 +1,9 @@
+package com.cimba.meetingminutes.repository;
+
+import com.cimba.meetingminutes.model.StoredTranscript;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredTranscriptRepository extends JpaRepository<StoredTranscript, Long> {
+}
@@ -0,0 +1,207 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.RequestPriority;
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.cimba.meetingminutes.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Bounds how many minutes requests run at once, with a lane each for text and audio so a burst
+// of uploads cannot starve the cheap text requests. Each lane's limit adapts AIMD style: it grows
+// by one per limit requests while requests take their usual time, and shrinks by backoff-ratio
+// when they get much slower or the providers push back. Requests over the limit wait in a
+// bounded FIFO queue; a full queue or a long wait is answered at once with a "retry later".
+//   minutes.admission.limit      current limit per lane
+//   minutes.admission.in_flight  admitted requests per lane
+//   minutes.admission.queued     waiting requests per lane
+//   minutes.admission.rejected   rejections per lane and reason (queue_full, timeout)
+//   minutes.admission.wait       time spent queued before admission
+@Slf4j
+@Component
+public class AdmissionController {
+
+    private final Map<RequestPriority, Lane> lanes = new EnumMap<>(RequestPriority.class);
+
+    public AdmissionController(AdmissionProperties properties, MeterRegistry meterRegistry,
+                               @Value("${server.tomcat.threads.max:200}") int serverThreads) {
+        checkThreads(properties, serverThreads);
+        lanes.put(RequestPriority.TEXT, new Lane(RequestPriority.TEXT, properties.getText(), meterRegistry));
+        lanes.put(RequestPriority.AUDIO, new Lane(RequestPriority.AUDIO, properties.getAudio(), meterRegistry));
+    }
+
+    // Admitted and queued requests each block a Tomcat thread; lanes that could take most of them
+    // would starve every other endpoint, health checks included, before admission ever rejects
+    private static void checkThreads(AdmissionProperties properties, int serverThreads) {
+        int held = properties.getText().getMaxLimit() + properties.getText().getMaxQueue()
+                + properties.getAudio().getMaxLimit() + properties.getAudio().getMaxQueue();
+        if (held > serverThreads / 2) {
+            throw new IllegalStateException("minutes.admission lanes can hold " + held + " request threads, more than half of "
+                    + "server.tomcat.threads.max=" + serverThreads + "; lower their max-limit and max-queue");
+        }
+    }
+
+    // Blocks while the lane is full and its queue is not; release the permit when the request is done
+    public Permit acquire(RequestPriority lane) {
+        return lanes.get(lane).acquire();
+    }
+
+    public final class Permit {
+        private final Lane lane;
+        private final long admittedAt = System.nanoTime();
+        private boolean released;
+
+        private Permit(Lane lane) {
+            this.lane = lane;
+        }
+
+        // overloaded: the request failed because something downstream is saturated (503/429)
+        public void release(boolean overloaded) {
+            if (released) {
+                return;
+            }
+            released = true;
+            lane.release(System.nanoTime() - admittedAt, overloaded);
+        }
+    }
+
+    private final class Lane {
+        // Weights of a new latency sample in the recent and the usual latency. Comparing the two
+        // averages rather than single samples keeps a long-tailed provider from looking overloaded;
+        // the usual latency moves slowly enough that an overload does not become usual
+        private static final double RECENT_WEIGHT = 0.2;
+        private static final double USUAL_WEIGHT = 0.02;
+
+        private final String name;
+        private final AdmissionProperties.Lane settings;
+        private final ArrayDeque<Object> waiters = new ArrayDeque<>();
+        private final Counter queueFull;
+        private final Counter timedOut;
+        private final Timer waitTimer;
+
+        private double limit;
+        private int inFlight;
+        private double recentLatencyNanos;
+        private double usualLatencyNanos;
+        private long lastDecrease;
+
+        Lane(RequestPriority lane, AdmissionProperties.Lane settings, MeterRegistry meterRegistry) {
+            this.name = lane.name().toLowerCase(Locale.ROOT);
+            this.settings = settings;
+            this.limit = settings.getInitialLimit();
+            this.lastDecrease = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+            Gauge.builder("minutes.admission.limit", this, Lane::limit).tag("lane", name).register(meterRegistry);
+            Gauge.builder("minutes.admission.in_flight", this, Lane::inFlight).tag("lane", name).register(meterRegistry);
+            Gauge.builder("minutes.admission.queued", this, Lane::queued).tag("lane", name).register(meterRegistry);
+            this.queueFull = rejections(meterRegistry, "queue_full");
+            this.timedOut = rejections(meterRegistry, "timeout");
+            this.waitTimer = Timer.builder("minutes.admission.wait")
+                    .description("Time minutes requests spent queued before they were admitted")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+        }
+
+        private Counter rejections(MeterRegistry meterRegistry, String reason) {
+            return Counter.builder("minutes.admission.rejected")
+                    .tag("lane", name)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        synchronized Permit acquire() {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return new Permit(this);
+            }
+            if (waiters.size() >= settings.getMaxQueue()) {
+                queueFull.increment();
+                throw new RetryLaterException("Too many " + name + " requests, retry later", retryAfter());
+            }
+
+            long started = System.nanoTime();
+            long deadline = started + settings.getMaxWait().toNanos();
+            Object waiter = new Object();
+            waiters.addLast(waiter);
+            try {
+                while (true) {
+                    if (waiters.peekFirst() == waiter && inFlight < (int) limit) {
+                        inFlight++;
+                        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        return new Permit(this);
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timedOut.increment();
+                        throw new RetryLaterException("Timed out waiting for a " + name + " request slot", retryAfter());
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RetryLaterException("Interrupted waiting for a " + name + " request slot", retryAfter());
+            } finally {
+                waiters.remove(waiter);
+                notifyAll();
+            }
+        }
+
+        synchronized void release(long latencyNanos, boolean overloaded) {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (!overloaded) {
+                recentLatencyNanos = average(recentLatencyNanos, latencyNanos, RECENT_WEIGHT);
+                usualLatencyNanos = average(usualLatencyNanos, latencyNanos, USUAL_WEIGHT);
+            }
+            boolean slow = recentLatencyNanos > usualLatencyNanos * settings.getLatencyTolerance();
+            long now = System.nanoTime();
+            if (overloaded || slow) {
+                // Once per usual request time, the requests that were already running report the same overload
+                if (now - lastDecrease > usualLatencyNanos) {
+                    double previous = limit;
+                    limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+                    lastDecrease = now;
+                    log.debug("Admission limit lowered lane={} limit={} previous={} recentMs={} usualMs={} overloaded={}",
+                            name, (int) limit, (int) previous, (long) recentLatencyNanos / 1_000_000,
+                            (long) usualLatencyNanos / 1_000_000, overloaded);
+                }
+            } else if (saturated) {
+                // Only a limit that is actually reached has shown it could be higher
+                limit = Math.min(settings.getMaxLimit(), limit + 1 / limit);
+            }
+            notifyAll();
+        }
+
+        private static double average(double average, long sample, double weight) {
+            return average == 0 ? sample : average + (sample - average) * weight;
+        }
+
+        // Time for the queue ahead to drain at the usual latency
+        private Duration retryAfter() {
+            double drainNanos = (waiters.size() + 1) / Math.max(1, limit) * usualLatencyNanos;
+            return Duration.ofSeconds(Math.max(1, Math.min(60, (long) Math.ceil(drainNanos / 1e9))));
+        }
+
+        private synchronized double limit() {
+            return (int) limit;
+        }
+
+        private synchronized double inFlight() {
+            return inFlight;
+        }
+
+        private synchronized double queued() {
+            return waiters.size();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.cimba.meetingminutes.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+
+// Shrinks PCM recordings (WAV/AIFF/AU) before they are uploaded to the providers: downmix to mono,
+// resample to 16kHz and cut long silences found by an energy VAD. Runs as a stream over the spooled
+// file, memory use does not depend on the length of the recording. Formats javax.sound cannot
+// decode (mp3, m4a, ...) are left alone.
+@Slf4j
+@Component
+public class AudioPreprocessor {
+
+    private static final int FRAME_MS = 20;
+    static final int WAV_HEADER_BYTES = 44;
+    // Shorter pauses are not worth remembering as split points
+    private static final int MIN_PAUSE_MS = 300;
+
+    private final boolean enabled;
+    private final int targetSampleRate;
+    private final double silenceThresholdDb;
+    private final Duration minSilence;
+    private final Duration silencePadding;
+
+    public AudioPreprocessor(@Value("${minutes.audio.preprocess.enabled:true}") boolean enabled,
+                             @Value("${minutes.audio.preprocess.sample-rate:16000}") int targetSampleRate,
+                             @Value("${minutes.audio.preprocess.silence-threshold-db:-40}") double silenceThresholdDb,
+                             @Value("${minutes.audio.preprocess.min-silence:1s}") Duration minSilence,
+                             @Value("${minutes.audio.preprocess.silence-padding:250ms}") Duration silencePadding) {
+        this.enabled = enabled;
+        this.targetSampleRate = targetSampleRate;
+        this.silenceThresholdDb = silenceThresholdDb;
+        this.minSilence = minSilence;
+        this.silencePadding = silencePadding;
+    }
+
+    // Part of the transcription cache key, the providers hear something else when this changes
+    public String fingerprint() {
+        return enabled
+                ? "pcm-mono-" + targetSampleRate + "-vad" + silenceThresholdDb + "/" + minSilence.toMillis() + "/" + silencePadding.toMillis()
+                : "raw";
+    }
+
+    // A mono 16-bit WAV (44-byte header) next to the upload, or null when the upload is not decodable PCM
+    public Processed process(AudioUpload upload) {
+        if (!enabled) {
+            return null;
+        }
+        Path target = null;
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(upload.getPath().toFile())) {
+            AudioFormat format = source.getFormat();
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                    format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+            if (!AudioSystem.isConversionSupported(pcm, format)) {
+                return null;
+            }
+            int sourceRate = Math.round(format.getSampleRate());
+            int outputRate = Math.min(sourceRate, targetSampleRate);
+
+            target = Files.createTempFile(upload.getPath().getParent(), "processed-", ".wav");
+            AudioTimeline timeline = new AudioTimeline();
+            long samples;
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(pcm, source);
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+                out.write(new byte[WAV_HEADER_BYTES]);
+                SilenceCutter cutter = new SilenceCutter(outputRate, out, timeline);
+                Resampler resampler = new Resampler(sourceRate, outputRate);
+                downmix(in, pcm.getChannels(), sample -> resampler.accept(sample, cutter));
+                samples = cutter.finish();
+            }
+            writeWavHeader(target, outputRate, samples);
+
+            String name = upload.getOriginalFilename() != null ? upload.getOriginalFilename() : "audio";
+            AudioUpload processed = new AudioUpload(target, baseName(name) + ".wav", "audio/wav", Files.size(target));
+            log.info("Preprocessed audio bytesIn={} bytesOut={} channels={} sourceRate={} outputRate={} silencesCut={} removedMs={}",
+                    upload.getSize(), processed.getSize(), format.getChannels(), sourceRate, outputRate,
+                    timeline.getCuts().size(), timeline.getRemovedMs());
+            return new Processed(processed, timeline, outputRate, samples * 1000 / outputRate);
+        } catch (UnsupportedAudioFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Audio preprocessing failed, sending the original: {}", e.getMessage());
+            deleteQuietly(target);
+            return null;
+        }
+    }
+
+    // The processed recording, deleted on close, and where silences were removed from it
+    @Getter
+    public static final class Processed implements AutoCloseable {
+
+        private final AudioUpload upload;
+        private final AudioTimeline timeline;
+        private final int sampleRate;
+        private final long durationMs;
+
+        Processed(AudioUpload upload, AudioTimeline timeline, int sampleRate, long durationMs) {
+            this.upload = upload;
+            this.timeline = timeline;
+            this.sampleRate = sampleRate;
+            this.durationMs = durationMs;
+        }
+
+        @Override
+        public void close() {
+            upload.close();
+        }
+    }
+
+    private interface SampleSink {
+        void accept(int sample) throws IOException;
+    }
+
+    // Little-endian 16-bit interleaved frames in, the average of the channels out
+    private static void downmix(AudioInputStream in, int channels, SampleSink sink) throws IOException {
+        int frameBytes = channels * 2;
+        byte[] buffer = new byte[frameBytes * 4096];
+        int filled = 0;
+        int read;
+        while ((read = in.read(buffer, filled, buffer.length - filled)) != -1) {
+            filled += read;
+            int usable = filled - filled % frameBytes;
+            for (int i = 0; i < usable; i += frameBytes) {
+                int sum = 0;
+                for (int c = 0; c < channels; c++) {
+                    int offset = i + c * 2;
+                    sum += (short) ((buffer[offset] & 0xff) | (buffer[offset + 1] << 8));
+                }
+                sink.accept(sum / channels);
+            }
+            System.arraycopy(buffer, usable, buffer, 0, filled - usable);
+            filled -= usable;
+        }
+    }
+
+    // Linear interpolation behind a moving average as a cheap anti-aliasing filter; a speech
+    // model does not need better than that, and it only ever reduces the rate
+    private static final class Resampler {
+
+        private final double step;
+        private final int[] history;
+        private int historyPos;
+        private long sum;
+        private double nextOutput;
+        private long index;
+        private int previous;
+
+        Resampler(int sourceRate, int outputRate) {
+            this.step = (double) sourceRate / outputRate;
+            this.history = new int[Math.max(1, (int) Math.ceil(step))];
+        }
+
+        void accept(int sample, SampleSink out) throws IOException {
+            sum += sample - history[historyPos];
+            history[historyPos] = sample;
+            historyPos = (historyPos + 1) % history.length;
+            int filtered = (int) (sum / history.length);
+
+            while (nextOutput <= index) {
+                double fraction = nextOutput - (index - 1);
+                out.accept(index == 0 ? filtered : (int) Math.round(previous + (filtered - previous) * fraction));
+                nextOutput += step;
+            }
+            previous = filtered;
+            index++;
+        }
+    }
+
+    // Energy VAD over 20ms frames. A silent run longer than min-silence is cut down to the padding
+    // on each side of it; the frames in the middle are dropped and recorded in the timeline
+    private final class SilenceCutter implements SampleSink {
+
+        private final OutputStream out;
+        private final AudioTimeline timeline;
+        private final int sampleRate;
+        private final short[] frame;
+        private final int minSilenceFrames;
+        private final int paddingFrames;
+        private final double thresholdSquare;
+        private final ArrayDeque<short[]> pending = new ArrayDeque<>();
+        private final byte[] bytes;
+        private int framePos;
+        private long written;
+        private long dropped;
+
+        SilenceCutter(int sampleRate, OutputStream out, AudioTimeline timeline) {
+            this.out = out;
+            this.timeline = timeline;
+            this.sampleRate = sampleRate;
+            this.frame = new short[Math.max(1, sampleRate * FRAME_MS / 1000)];
+            this.bytes = new byte[frame.length * 2];
+            this.minSilenceFrames = (int) (minSilence.toMillis() / FRAME_MS);
+            this.paddingFrames = (int) Math.min(silencePadding.toMillis() / FRAME_MS, minSilenceFrames / 2);
+            double threshold = 32768 * Math.pow(10, silenceThresholdDb / 20);
+            this.thresholdSquare = threshold * threshold;
+        }
+
+        @Override
+        public void accept(int sample) throws IOException {
+            frame[framePos++] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+            if (framePos == frame.length) {
+                onFrame(frame.clone(), framePos);
+                framePos = 0;
+            }
+        }
+
+        // Flushes the partial last frame and trailing silence; returns the samples written
+        long finish() throws IOException {
+            if (framePos > 0) {
+                short[] last = new short[framePos];
+                System.arraycopy(frame, 0, last, 0, framePos);
+                onFrame(last, framePos);
+            }
+            endSilence();
+            return written;
+        }
+
+        private void onFrame(short[] samples, int length) throws IOException {
+            long energy = 0;
+            for (int i = 0; i < length; i++) {
+                energy += (long) samples[i] * samples[i];
+            }
+            if ((double) energy / length >= thresholdSquare) {
+                endSilence();
+                write(samples);
+                return;
+            }
+            pending.addLast(samples);
+            if (pending.size() > minSilenceFrames) {
+                // Long enough to cut: the head padding goes out now, only the tail padding is kept
+                if (dropped == 0) {
+                    for (int i = 0; i < paddingFrames; i++) {
+                        write(pending.pollFirst());
+                    }
+                }
+                while (pending.size() > paddingFrames) {
+                    dropped += pending.pollFirst().length;
+                }
+            }
+        }
+
+        private void endSilence() throws IOException {
+            if (dropped > 0) {
+                timeline.addCut(written * 1000 / sampleRate, dropped * 1000 / sampleRate);
+                timeline.addPause(written * 1000 / sampleRate);
+                dropped = 0;
+            } else if (pending.size() * FRAME_MS >= MIN_PAUSE_MS) {
+                timeline.addPause((written + (long) pending.size() * frame.length / 2) * 1000 / sampleRate);
+            }
+            while (!pending.isEmpty()) {
+                write(pending.pollFirst());
+            }
+        }
+
+        private void write(short[] samples) throws IOException {
+            for (int i = 0; i < samples.length; i++) {
+                bytes[2 * i] = (byte) samples[i];
+                bytes[2 * i + 1] = (byte) (samples[i] >> 8);
+            }
+            out.write(bytes, 0, samples.length * 2);
+            written += samples.length;
+        }
+    }
+
+    // The data length is only known at the end, the header is written over the placeholder
+    private static void writeWavHeader(Path wav, int sampleRate, long samples) throws IOException {
+        try (FileChannel channel = FileChannel.open(wav, StandardOpenOption.WRITE)) {
+            channel.write(wavHeader(sampleRate, samples), 0);
+        }
+    }
+
+    // Mono 16-bit PCM
+    static ByteBuffer wavHeader(int sampleRate, long samples) {
+        long dataBytes = samples * 2;
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes()).putInt((int) (36 + dataBytes)).put("WAVE".getBytes())
+                .put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(sampleRate).putInt(sampleRate * 2).putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes()).putInt((int) dataBytes);
+        return header.flip();
+    }
+
+    private static String baseName(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
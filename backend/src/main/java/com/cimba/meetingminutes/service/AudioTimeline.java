@@ -0,0 +1,52 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Silences cut out of a recording by the preprocessor, so a time in the processed audio
+// (what the providers heard) can be mapped back to the time in the original upload. Also keeps
+// the pauses in the processed audio, where it can be split without cutting a word
+public class AudioTimeline {
+
+    // A removed span: starts at processedMs in the processed audio, originalMs in the original
+    public record Cut(long processedMs, long originalMs, long durationMs) {
+    }
+
+    private final List<Cut> cuts = new ArrayList<>();
+    private final List<Long> pauses = new ArrayList<>();
+    private long removedMs;
+
+    void addCut(long processedMs, long durationMs) {
+        cuts.add(new Cut(processedMs, processedMs + removedMs, durationMs));
+        removedMs += durationMs;
+    }
+
+    void addPause(long processedMs) {
+        pauses.add(processedMs);
+    }
+
+    public List<Cut> getCuts() {
+        return Collections.unmodifiableList(cuts);
+    }
+
+    // Middle of each pause, in processed milliseconds, ascending
+    public List<Long> getPauses() {
+        return Collections.unmodifiableList(pauses);
+    }
+
+    public long getRemovedMs() {
+        return removedMs;
+    }
+
+    public long toOriginalMs(long processedMs) {
+        long shift = 0;
+        for (Cut cut : cuts) {
+            if (cut.processedMs() > processedMs) {
+                break;
+            }
+            shift += cut.durationMs();
+        }
+        return processedMs + shift;
+    }
+}
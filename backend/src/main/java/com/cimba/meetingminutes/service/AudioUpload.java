@@ -0,0 +1,48 @@
+package com.cimba.meetingminutes.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// An uploaded recording spooled to disk, so it outlives the request that carried it
+@Slf4j
+@Getter
+public class AudioUpload implements AutoCloseable {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    public AudioUpload(Path path, String originalFilename, String contentType, long size) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    public static AudioUpload spool(MultipartFile file, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Path target = Files.createTempFile(directory, "upload-", ".audio");
+            file.transferTo(target);
+            return new AudioUpload(target, file.getOriginalFilename(), file.getContentType(), Files.size(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spool audio upload", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled audio {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Heuristic minutes for when no model is available. Produces exactly what the original
+// line-by-line implementation did, but in one pass over the transcript: no per-line copies,
+// no regexes, and one keyword automaton instead of a dozen contains() scans per line.
+final class FallbackMinutesExtractor {
+
+    // Bit of each keyword in the per-line match mask
+    private static final String[] KEYWORDS = {
+            "by thursday", "by friday", "by monday", "by wednesday", "eod", "tonight", "this week",
+            "will", "can", "'ll", "done",
+            "i'll", "i will", "i can", "today", "agenda", "can you", "?"
+    };
+    private static final int BY_THURSDAY = 1, BY_FRIDAY = 1 << 1, BY_MONDAY = 1 << 2, BY_WEDNESDAY = 1 << 3,
+            EOD = 1 << 4, TONIGHT = 1 << 5, THIS_WEEK = 1 << 6,
+            WILL = 1 << 7, CAN = 1 << 8, APOSTROPHE_LL = 1 << 9, DONE = 1 << 10,
+            I_LL = 1 << 11, I_WILL = 1 << 12, I_CAN = 1 << 13, TODAY = 1 << 14, AGENDA = 1 << 15,
+            CAN_YOU = 1 << 16, QUESTION = 1 << 17;
+    private static final int DEADLINES = BY_THURSDAY | BY_FRIDAY | BY_MONDAY | BY_WEDNESDAY | EOD | TONIGHT | THIS_WEEK;
+    private static final int COMMITMENTS = WILL | CAN | APOSTROPHE_LL | DONE;
+
+    // Each char mapped to its keyword alphabet symbol after toLowerCase(), or -1 when it cannot
+    // be part of a keyword. Built from String.toLowerCase(), so e.g. the Kelvin sign folds to 'k'
+    // exactly as it did in the original.
+    private static final byte[] FOLD = new byte[Character.MAX_VALUE + 1];
+    private static final int ALPHABET;
+    // Aho-Corasick automaton compiled into a full transition table, with the keyword mask of every state
+    private static final int[][] NEXT;
+    private static final int[] MATCHES;
+
+    static {
+        StringBuilder alphabet = new StringBuilder();
+        for (String keyword : KEYWORDS) {
+            for (char c : keyword.toCharArray()) {
+                if (alphabet.indexOf(String.valueOf(c)) < 0) {
+                    alphabet.append(c);
+                }
+            }
+        }
+        ALPHABET = alphabet.length();
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            String lower = String.valueOf((char) c).toLowerCase();
+            FOLD[c] = (byte) (lower.length() == 1 ? alphabet.indexOf(lower) : -1);
+        }
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> masks = new ArrayList<>();
+        trie.add(newState());
+        masks.add(0);
+        for (int k = 0; k < KEYWORDS.length; k++) {
+            int state = 0;
+            for (char c : KEYWORDS[k].toCharArray()) {
+                int symbol = alphabet.indexOf(String.valueOf(c));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState());
+                    masks.add(0);
+                }
+                state = trie.get(state)[symbol];
+            }
+            masks.set(state, masks.get(state) | (1 << k));
+        }
+
+        // Failure links, breadth first, folded into the transition table
+        int[] fail = new int[trie.size()];
+        int[] queue = new int[trie.size()];
+        int head = 0, tail = 0;
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = trie.get(0)[symbol];
+            if (child < 0) {
+                trie.get(0)[symbol] = 0;
+            } else {
+                fail[child] = 0;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            masks.set(state, masks.get(state) | masks.get(fail[state]));
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = trie.get(state)[symbol];
+                if (child < 0) {
+                    trie.get(state)[symbol] = trie.get(fail[state])[symbol];
+                } else {
+                    fail[child] = trie.get(fail[state])[symbol];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        NEXT = trie.toArray(new int[0][]);
+        MATCHES = masks.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private FallbackMinutesExtractor() {
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    static Map<String, String> extract(String transcript) {
+        // HashMap on purpose: the summary lists participants in its iteration order, as before
+        Map<String, Integer> participants = new HashMap<>();
+        List<String> decisions = new ArrayList<>();
+        List<String> actions = new ArrayList<>();
+        String mainAgenda = "";
+
+        int length = transcript.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = transcript.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int next = lineEnd + 1;
+
+            // trim()
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && transcript.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && transcript.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                lineStart = next;
+                continue;
+            }
+
+            start = skipTimestamp(transcript, start, end);
+            int colon = start;
+            while (colon < end && transcript.charAt(colon) != ':') {
+                colon++;
+            }
+            if (colon == end) {
+                lineStart = next;
+                continue;
+            }
+
+            int speakerStart = start;
+            int speakerEnd = colon;
+            while (speakerStart < speakerEnd && transcript.charAt(speakerStart) <= ' ') {
+                speakerStart++;
+            }
+            while (speakerEnd > speakerStart && transcript.charAt(speakerEnd - 1) <= ' ') {
+                speakerEnd--;
+            }
+            int contentStart = colon + 1;
+            int contentEnd = end;
+            while (contentStart < contentEnd && transcript.charAt(contentStart) <= ' ') {
+                contentStart++;
+            }
+
+            String speaker = transcript.substring(speakerStart, speakerEnd);
+            if (speakerStart < speakerEnd && !isDigits(transcript, speakerStart, speakerEnd)) {
+                participants.put(speaker, participants.getOrDefault(speaker, 0) + 1);
+            }
+
+            int found = scan(transcript, contentStart, contentEnd);
+            String content = null;
+
+            if (mainAgenda.isEmpty() && (found & AGENDA) != 0) {
+                content = transcript.substring(contentStart, contentEnd);
+                mainAgenda = content;
+            }
+
+            if ((found & DEADLINES) != 0 && (found & COMMITMENTS) != 0) {
+                content = content != null ? content : transcript.substring(contentStart, contentEnd);
+                decisions.add("• " + speaker + " committed: " + content);
+            }
+
+            if ((found & (I_LL | I_WILL)) != 0 || ((found & I_CAN) != 0 && (found & QUESTION) == 0)) {
+                content = content != null ? content : transcript.substring(contentStart, contentEnd);
+                actions.add("• " + content + " - Assigned to: " + speaker + " - Due: " + deadline(found));
+            }
+
+            if ((found & CAN_YOU) != 0 && (found & QUESTION) != 0
+                    && hasYouBeforeLastWord(transcript, contentStart, contentEnd)) {
+                content = content != null ? content : transcript.substring(contentStart, contentEnd);
+                actions.add("• " + content.replace("?", "") + " - Assigned to: [To be confirmed]");
+            }
+
+            lineStart = next;
+        }
+
+        return assemble(participants, decisions, actions, mainAgenda);
+    }
+
+    // Bitmask of the keywords found in text[start, end), case-insensitively
+    private static int scan(String text, int start, int end) {
+        int state = 0;
+        int found = 0;
+        for (int i = start; i < end; i++) {
+            int symbol = FOLD[text.charAt(i)];
+            if (symbol < 0) {
+                state = 0;
+                continue;
+            }
+            state = NEXT[state][symbol];
+            found |= MATCHES[state];
+        }
+        return found;
+    }
+
+    private static String deadline(int found) {
+        if ((found & BY_THURSDAY) != 0) return "Thursday";
+        if ((found & BY_FRIDAY) != 0) return "Friday";
+        if ((found & BY_MONDAY) != 0) return "Monday";
+        if ((found & BY_WEDNESDAY) != 0) return "Wednesday";
+        if ((found & EOD) != 0) return "EOD";
+        if ((found & TONIGHT) != 0) return "Tonight";
+        if ((found & TODAY) != 0) return "Today";
+        return "TBD";
+    }
+
+    // "10:00 AM — " or "9:05PM-" at the start of the line, as ^\d{1,2}:\d{2}\s*[AP]M\s*[—-]\s*
+    private static int skipTimestamp(String text, int start, int end) {
+        int i = start;
+        int digits = 0;
+        while (i < end && digits < 2 && isDigit(text.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (digits == 0 || i >= end || text.charAt(i) != ':') {
+            return start;
+        }
+        i++;
+        if (i + 1 >= end || !isDigit(text.charAt(i)) || !isDigit(text.charAt(i + 1))) {
+            return start;
+        }
+        i = skipSpaces(text, i + 2, end);
+        if (i + 1 >= end || (text.charAt(i) != 'A' && text.charAt(i) != 'P') || text.charAt(i + 1) != 'M') {
+            return start;
+        }
+        i = skipSpaces(text, i + 2, end);
+        if (i >= end || (text.charAt(i) != '—' && text.charAt(i) != '-')) {
+            return start;
+        }
+        return skipSpaces(text, i + 1, end);
+    }
+
+    // Regex \s: [ \t\n\x0B\f\r]
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static int skipSpaces(String text, int i, int end) {
+        while (i < end && isSpace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // A whitespace-separated word equal to "you" (ignoring case) that is not the last word
+    private static boolean hasYouBeforeLastWord(String text, int start, int end) {
+        int i = start;
+        while (i < end) {
+            int wordEnd = i;
+            while (wordEnd < end && !isSpace(text.charAt(wordEnd))) {
+                wordEnd++;
+            }
+            boolean last = skipSpaces(text, wordEnd, end) >= end;
+            if (last) {
+                return false;
+            }
+            if (wordEnd - i == 3 && FOLD[text.charAt(i)] == FOLD['y'] && FOLD[text.charAt(i + 1)] == FOLD['o']
+                    && FOLD[text.charAt(i + 2)] == FOLD['u']) {
+                return true;
+            }
+            i = skipSpaces(text, wordEnd, end);
+        }
+        return false;
+    }
+
+    private static Map<String, String> assemble(Map<String, Integer> participants, List<String> decisions,
+                                                List<String> actions, String mainAgenda) {
+        Map<String, String> minutes = new HashMap<>();
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("The team meeting involved ").append(participants.size())
+                .append(" participants (").append(String.join(", ", participants.keySet())).append("). ");
+
+        if (!mainAgenda.isEmpty()) {
+            summary.append(mainAgenda).append(" ");
+        } else {
+            summary.append("The discussion focused on Sprint 14 planning, including authentication revamp status, ");
+            summary.append(
+                    "backend and frontend development timelines, QA testing schedules, and infrastructure updates. ");
+        }
+
+        summary.append("Team members provided status updates, committed to specific deliverables with deadlines, ");
+        summary.append("and identified dependencies and blockers requiring follow-up.");
+
+        StringBuilder decisionsStr = new StringBuilder();
+        if (!decisions.isEmpty()) {
+            for (String decision : decisions) {
+                decisionsStr.append(decision).append("\n");
+            }
+        } else {
+            decisionsStr.append("• Backend development timeline established\n");
+            decisionsStr.append("• Frontend implementation schedule confirmed\n");
+            decisionsStr.append("• QA testing approach agreed upon\n");
+            decisionsStr.append("• Infrastructure deployment plan approved");
+        }
+
+        StringBuilder actionsStr = new StringBuilder();
+        if (!actions.isEmpty()) {
+            for (String action : actions) {
+                actionsStr.append(action).append("\n");
+            }
+        } else {
+            // If no actions detected, create generic ones based on participants
+            for (String participant : participants.keySet()) {
+                actionsStr.append("• Complete assigned development tasks - Assigned to: ")
+                        .append(participant).append(" - Due: As discussed\n");
+            }
+        }
+
+        minutes.put("summary", summary.toString());
+        minutes.put("keyDecisions", decisionsStr.toString().trim());
+        minutes.put("actionItems", actionsStr.toString().trim());
+        return minutes;
+    }
+}
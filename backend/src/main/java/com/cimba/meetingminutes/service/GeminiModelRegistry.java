@@ -0,0 +1,188 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.GeminiClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class GeminiModelRegistry {
+
+    // Preferred order when there is no health data yet (all FREE tier models)
+    static final List<String> PREFERRED_MODELS = List.of(
+            "models/gemini-2.5-flash",
+            "models/gemini-2.0-flash",
+            "models/gemini-flash-latest",
+            "models/gemini-pro-latest"
+    );
+
+    // Weight of the newest sample in the moving averages
+    private static final double ALPHA = 0.3;
+    // Recent successful latencies kept per model for percentile estimates
+    private static final int LATENCY_WINDOW = 50;
+    private static final int MIN_LATENCY_SAMPLES = 5;
+
+    @Value("${gemini.api.key}")
+    private String apiKey;
+
+    private final GeminiClient geminiClient;
+
+    // null until the first successful catalog fetch; then the models that support generateContent
+    private volatile Set<String> catalog;
+    private final Map<String, ModelHealth> health = new ConcurrentHashMap<>();
+
+    public GeminiModelRegistry(GeminiClient geminiClient) {
+        this.geminiClient = geminiClient;
+        for (String model : PREFERRED_MODELS) {
+            health.put(model, new ModelHealth());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        refreshCatalog();
+    }
+
+    @Scheduled(fixedDelayString = "${gemini.models.refresh-interval-ms:600000}",
+            initialDelayString = "${gemini.models.refresh-interval-ms:600000}")
+    public void refreshCatalog() {
+        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your-gemini-api-key-here")) {
+            return;
+        }
+
+        try {
+            Map<String, Object> response = geminiClient.listModels();
+            if (response != null) {
+                List<Map<String, Object>> models = (List<Map<String, Object>>) response.get("models");
+                if (models != null) {
+                    Set<String> available = new HashSet<>();
+                    for (Map<String, Object> model : models) {
+                        List<String> methods = (List<String>) model.get("supportedGenerationMethods");
+                        if (methods != null && methods.contains("generateContent")) {
+                            available.add((String) model.get("name"));
+                        }
+                    }
+                    catalog = available;
+                    log.info("Gemini model catalog refreshed models={}", available.size());
+                }
+            }
+        } catch (Exception e) {
+            // Keep the previous catalog, a transient listing failure should not disable models
+            log.warn("Could not refresh model catalog: {}", e.getMessage());
+        }
+
+        // Let models that failed a while ago earn another chance
+        health.values().forEach(ModelHealth::recover);
+    }
+
+    // Healthiest first, and the fastest of equally healthy models; models without samples keep the
+    // preferred order behind measured ones. Never empty: with none of the preferred models in the
+    // catalog, the preferred list is tried as it is.
+    public List<String> rankedModels() {
+        Set<String> available = catalog;
+        List<String> ranked = new ArrayList<>();
+        for (String model : PREFERRED_MODELS) {
+            if (available == null || available.contains(model)) {
+                ranked.add(model);
+            }
+        }
+        if (ranked.isEmpty()) {
+            log.debug("None of the preferred models is in the catalog, trying them anyway");
+            return PREFERRED_MODELS;
+        }
+
+        // Snapshot first, the health values change while other threads record calls
+        Map<String, Integer> buckets = new HashMap<>();
+        Map<String, Double> latencies = new HashMap<>();
+        for (String model : ranked) {
+            ModelHealth h = health.get(model);
+            buckets.put(model, h.healthBucket());
+            latencies.put(model, h.hasSamples() ? h.averageLatencyMs() : Double.MAX_VALUE);
+        }
+        // Stable sort, so models without samples keep the preferred order
+        ranked.sort(Comparator.comparingInt((String model) -> buckets.get(model)).reversed()
+                .thenComparingDouble(latencies::get));
+        return ranked;
+    }
+
+    public void recordSuccess(String model, long latencyMs) {
+        health.computeIfAbsent(model, m -> new ModelHealth()).record(true, latencyMs);
+    }
+
+    public void recordFailure(String model, long latencyMs) {
+        health.computeIfAbsent(model, m -> new ModelHealth()).record(false, latencyMs);
+    }
+
+    public double successRate(String model) {
+        ModelHealth h = health.get(model);
+        return h == null ? 1.0 : h.successRate();
+    }
+
+    public double averageLatencyMs(String model) {
+        ModelHealth h = health.get(model);
+        return h == null ? 0 : h.averageLatencyMs();
+    }
+
+    // Latency percentile of recent successful calls, or -1 while there are too few samples
+    public long latencyPercentile(String model, double percentile) {
+        ModelHealth h = health.get(model);
+        return h == null ? -1 : h.latencyPercentile(percentile);
+    }
+
+    static class ModelHealth {
+        private double successRate = 1.0;
+        private double averageLatencyMs = 0;
+        private int samples = 0;
+        private final long[] successLatencies = new long[LATENCY_WINDOW];
+        private int successes = 0;
+
+        synchronized void record(boolean success, long latencyMs) {
+            successRate = ALPHA * (success ? 1.0 : 0.0) + (1 - ALPHA) * successRate;
+            averageLatencyMs = samples == 0 ? latencyMs : ALPHA * latencyMs + (1 - ALPHA) * averageLatencyMs;
+            samples++;
+            if (success) {
+                successLatencies[successes % LATENCY_WINDOW] = latencyMs;
+                successes++;
+            }
+        }
+
+        synchronized long latencyPercentile(double percentile) {
+            int count = Math.min(successes, LATENCY_WINDOW);
+            if (count < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(successLatencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+
+        synchronized void recover() {
+            successRate += (1.0 - successRate) / 2;
+        }
+
+        synchronized double successRate() {
+            return successRate;
+        }
+
+        synchronized double averageLatencyMs() {
+            return averageLatencyMs;
+        }
+
+        synchronized boolean hasSamples() {
+            return samples > 0;
+        }
+
+        // Success rate in 10% steps, so small fluctuations do not reshuffle the order
+        synchronized int healthBucket() {
+            return (int) Math.round(successRate * 10);
+        }
+    }
+}
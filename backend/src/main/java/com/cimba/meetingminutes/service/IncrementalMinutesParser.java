@@ -0,0 +1,84 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parses SUMMARY / KEY DECISIONS / ACTION ITEMS while the model output streams in.
+// A section is reported as soon as the next section header shows up; finish() reports the
+// rest, and anything whose final text differs from what was reported early.
+class IncrementalMinutesParser {
+
+    private static final Pattern HEADER = Pattern.compile("(?i)(SUMMARY:|KEY DECISIONS:|ACTION ITEMS:)");
+    private static final List<String> SECTION_ORDER = List.of("summary", "keyDecisions", "actionItems");
+
+    private final BiConsumer<String, String> onSection;
+    private final Function<String, Map<String, String>> finalParser;
+    private final StringBuilder text = new StringBuilder();
+    private final Map<String, String> reported = new HashMap<>();
+    // Headers found so far, kept so each chunk only scans the text it could have completed
+    private final List<int[]> headers = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+
+    IncrementalMinutesParser(BiConsumer<String, String> onSection, Function<String, Map<String, String>> finalParser) {
+        this.onSection = onSection;
+        this.finalParser = finalParser;
+    }
+
+    void append(String chunk) {
+        // Only the tail can contain a new header, but a header may straddle two chunks
+        int scanFrom = Math.max(0, text.length() - "KEY DECISIONS:".length());
+        if (!headers.isEmpty()) {
+            scanFrom = Math.max(scanFrom, headers.get(headers.size() - 1)[1]);
+        }
+        text.append(chunk);
+
+        int found = headers.size();
+        Matcher matcher = HEADER.matcher(text).region(scanFrom, text.length());
+        while (matcher.find()) {
+            headers.add(new int[]{matcher.start(), matcher.end()});
+            names.add(sectionKey(matcher.group(1)));
+        }
+        if (headers.size() == found) {
+            return;
+        }
+
+        // Every section followed by another header is complete
+        for (int i = 0; i < headers.size() - 1; i++) {
+            String name = names.get(i);
+            if (!reported.containsKey(name)) {
+                report(name, text.substring(headers.get(i)[1], headers.get(i + 1)[0]).trim());
+            }
+        }
+    }
+
+    boolean hasReported() {
+        return !reported.isEmpty();
+    }
+
+    Map<String, String> finish() {
+        Map<String, String> minutes = finalParser.apply(text.toString());
+        for (String name : SECTION_ORDER) {
+            String content = minutes.get(name);
+            if (content != null && !content.equals(reported.get(name))) {
+                report(name, content);
+            }
+        }
+        return minutes;
+    }
+
+    private void report(String name, String content) {
+        reported.put(name, content);
+        onSection.accept(name, content);
+    }
+
+    private static String sectionKey(String header) {
+        String upper = header.toUpperCase(Locale.ROOT);
+        if (upper.startsWith("SUMMARY")) {
+            return "summary";
+        }
+        return upper.startsWith("KEY") ? "keyDecisions" : "actionItems";
+    }
+}
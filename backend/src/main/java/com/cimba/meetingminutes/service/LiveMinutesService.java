@@ -0,0 +1,247 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.cimba.meetingminutes.dto.MinutesResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Live meetings: transcript fragments arrive while the meeting runs and the minutes are updated
+// from the current minutes plus what was said since the last update, never from the whole
+// transcript. Updates are rate limited per session; closing the session saves the minutes.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveMinutesService {
+
+    private final OpenAIService openAIService;
+    private final MeetingMinutesService minutesService;
+
+    @Qualifier("minutesLiveExecutor")
+    private final ScheduledExecutorService liveExecutor;
+
+    @Value("${minutes.live.update-interval:15s}")
+    private Duration updateInterval;
+
+    @Value("${minutes.live.min-delta-chars:400}")
+    private int minDeltaChars;
+
+    @Value("${minutes.live.max-sessions:50}")
+    private int maxSessions;
+
+    @Value("${minutes.live.max-transcript-chars:1000000}")
+    private int maxTranscriptChars;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // Receives the messages of one session; called from the live executor threads
+    public interface Listener {
+
+        void send(Map<String, Object> message);
+
+        // The minutes are saved (or there was nothing to save), no more messages follow
+        void finished();
+    }
+
+    // null when the server already runs max-sessions live sessions
+    public Session open(String title, Listener listener) {
+        Session session = new Session(UUID.randomUUID().toString(), title, listener);
+        synchronized (sessions) {
+            if (sessions.size() >= maxSessions) {
+                return null;
+            }
+            sessions.put(session.id, session);
+        }
+        log.info("Live session opened session={}", session.id);
+        return session;
+    }
+
+    public void append(Session session, String fragment) {
+        if (fragment == null || fragment.isBlank()) {
+            return;
+        }
+        synchronized (session) {
+            if (session.closing) {
+                return;
+            }
+            if (session.transcript.length() + fragment.length() > maxTranscriptChars) {
+                session.listener.send(Map.of("type", "error",
+                        "message", "Transcript limit of " + maxTranscriptChars + " characters reached"));
+                return;
+            }
+            String line = fragment.strip() + "\n";
+            session.transcript.append(line);
+            session.pending.append(line);
+            scheduleUpdate(session);
+        }
+    }
+
+    // Folds what is still pending into the minutes and saves them; safe to call more than once
+    public void close(Session session) {
+        synchronized (session) {
+            if (session.closing) {
+                return;
+            }
+            session.closing = true;
+            if (session.scheduled != null) {
+                session.scheduled.cancel(false);
+                session.scheduled = null;
+            }
+            // A running update finishes the session when it is done
+            if (!session.updating) {
+                liveExecutor.execute(() -> finish(session));
+            }
+        }
+    }
+
+    // Caller holds the session lock. One update at a time, at most one per update interval
+    private void scheduleUpdate(Session session) {
+        if (session.closing || session.updating || session.scheduled != null || session.pending.length() < minDeltaChars) {
+            return;
+        }
+        long delayMs = Math.max(0, session.nextUpdateAt - System.currentTimeMillis());
+        session.scheduled = liveExecutor.schedule(() -> update(session), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void update(Session session) {
+        String delta;
+        Map<String, String> current;
+        synchronized (session) {
+            session.scheduled = null;
+            if (session.closing || session.pending.isEmpty()) {
+                return;
+            }
+            delta = session.pending.toString();
+            session.pending.setLength(0);
+            current = session.minutes;
+            session.updating = true;
+        }
+
+        Map<String, String> updated = null;
+        Duration wait = updateInterval;
+        try {
+            updated = openAIService.updateMinutes(current, delta);
+        } catch (RetryLaterException e) {
+            log.warn("Live update rate limited session={} retryAfter={}", session.id, e.getRetryAfter());
+            wait = e.getRetryAfter().compareTo(updateInterval) > 0 ? e.getRetryAfter() : updateInterval;
+        } catch (Exception e) {
+            log.warn("Live update failed session={}: {}", session.id, e.getMessage());
+        }
+
+        synchronized (session) {
+            session.updating = false;
+            session.nextUpdateAt = System.currentTimeMillis() + wait.toMillis();
+            if (updated != null) {
+                session.minutes = updated;
+                session.version++;
+                session.listener.send(minutesMessage(session));
+            } else {
+                // Not lost, it goes out with the next update
+                session.pending.insert(0, delta);
+            }
+            if (session.closing) {
+                liveExecutor.execute(() -> finish(session));
+            } else {
+                scheduleUpdate(session);
+            }
+        }
+    }
+
+    private void finish(Session session) {
+        try {
+            String transcript;
+            String pending;
+            Map<String, String> current;
+            synchronized (session) {
+                transcript = session.transcript.toString();
+                pending = session.pending.toString();
+                current = session.minutes;
+            }
+            if (transcript.isBlank()) {
+                log.info("Live session closed without transcript session={}", session.id);
+                return;
+            }
+
+            Map<String, String> minutes = finalMinutes(current, transcript, pending);
+            synchronized (session) {
+                session.minutes = minutes;
+                session.version++;
+            }
+            session.listener.send(minutesMessage(session));
+            MinutesResponse saved = minutesService.saveMinutes(session.title, transcript, minutes);
+            session.listener.send(Map.of("type", "saved", "minutes", saved));
+            log.info("Live session saved session={} minutesId={} updates={}", session.id, saved.getId(), session.version);
+        } catch (Exception e) {
+            log.error("Could not save live session session={}", session.id, e);
+            session.listener.send(Map.of("type", "error", "message", "Minutes could not be saved"));
+        } finally {
+            sessions.remove(session.id);
+            session.listener.finished();
+        }
+    }
+
+    // A meeting too short for any update is summarized like a pasted transcript. Out of quota at the
+    // end, the pending part only gets the heuristic items, the session is saved regardless.
+    private Map<String, String> finalMinutes(Map<String, String> current, String transcript, String pending) {
+        try {
+            if (current == null) {
+                return openAIService.generateMinutes(transcript);
+            }
+            return pending.isBlank() ? current : openAIService.updateMinutes(current, pending);
+        } catch (RetryLaterException e) {
+            log.warn("Final live update rate limited, using heuristic items for the rest");
+            if (current == null) {
+                return FallbackMinutesExtractor.extract(transcript);
+            }
+            Map<String, String> fallback = new HashMap<>(FallbackMinutesExtractor.extract(pending));
+            fallback.remove("summary");
+            return MinutesMerger.merge(List.of(current, fallback));
+        }
+    }
+
+    private static Map<String, Object> minutesMessage(Session session) {
+        Map<String, Object> message = new HashMap<>(session.minutes);
+        message.remove(StructuredMinutes.ITEMS);
+        message.put("type", "minutes");
+        message.put("version", session.version);
+        return message;
+    }
+
+    // State of one live meeting, guarded by its own monitor
+    public static final class Session {
+        private final String id;
+        private final String title;
+        private final Listener listener;
+        private final StringBuilder transcript = new StringBuilder();
+        // Transcript not yet folded into the minutes
+        private final StringBuilder pending = new StringBuilder();
+        private Map<String, String> minutes;
+        private int version;
+        private long nextUpdateAt;
+        private ScheduledFuture<?> scheduled;
+        private boolean updating;
+        private boolean closing;
+
+        private Session(String id, String title, Listener listener) {
+            this.id = id;
+            this.title = title;
+            this.listener = listener;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package com.cimba.meetingminutes.service;
 
+import com.cimba.meetingminutes.dto.MinutesPage;
 import com.cimba.meetingminutes.dto.MinutesResponse;
+import com.cimba.meetingminutes.dto.SearchResponse;
 import com.cimba.meetingminutes.dto.TranscriptRequest;
 import com.cimba.meetingminutes.model.MeetingMinutes;
 import com.cimba.meetingminutes.repository.MeetingMinutesRepository;
+import com.cimba.meetingminutes.repository.MinutesHeaderView;
+import com.cimba.meetingminutes.repository.MinutesView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,24 +37,27 @@ public class MeetingMinutesService {
     
     private final MeetingMinutesRepository repository;
     private final OpenAIService openAIService;
+    private final MinutesSearchIndex searchIndex;
+    private final MinutesItemService itemService;
+    private final TranscriptStore transcriptStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Value("${minutes.audio.spool-dir:${java.io.tmpdir}/meeting-minutes}")
+    private Path spoolDirectory;
     
     public MinutesResponse processTranscript(TranscriptRequest request) {
         Map<String, String> minutes = openAIService.generateMinutes(request.getTranscript());
-        
-        MeetingMinutes entity = new MeetingMinutes();
-        entity.setTitle(request.getTitle());
-        entity.setTranscript(request.getTranscript());
-        entity.setSummary(minutes.get("summary"));
-        entity.setKeyDecisions(minutes.get("keyDecisions"));
-        entity.setActionItems(minutes.get("actionItems"));
-        
-        entity = repository.save(entity);
-        
-        return toResponse(entity);
+        // A call on this would skip the @Transactional proxy of saveMinutes
+        return transactionTemplate.execute(status -> saveMinutes(request.getTitle(), request.getTranscript(), minutes));
     }
     
     public MinutesResponse processAudio(String title, MultipartFile audioFile) {
-        String transcript = openAIService.transcribeAudio(audioFile);
+        String transcript;
+        try (AudioUpload upload = spool(audioFile)) {
+            transcript = openAIService.transcribeAudio(upload);
+        }
         
         TranscriptRequest request = new TranscriptRequest();
         request.setTitle(title);
@@ -43,19 +65,161 @@ public class MeetingMinutesService {
         
         return processTranscript(request);
     }
+
+    public AudioUpload spool(MultipartFile audioFile) {
+        return AudioUpload.spool(audioFile, spoolDirectory);
+    }
+
+    // Minutes, transcript and item rows are saved together or not at all
+    @Transactional
+    public MinutesResponse saveMinutes(String title, String transcript, Map<String, String> minutes) {
+        MeetingMinutes entity = repository.save(newMinutes(title, transcript, minutes));
+        transcriptStore.saveAll(List.of(entity));
+        itemService.storeItems(List.of(entity));
+        indexAfterCommit(List.of(entity));
+        
+        return toResponse(entity);
+    }
+
+    // One transaction and JDBC insert batch for many meetings (batch ingestion)
+    @Transactional
+    public List<MinutesResponse> saveAllMinutes(List<MeetingMinutes> entities) {
+        List<MeetingMinutes> saved = repository.saveAll(entities);
+        transcriptStore.saveAll(saved);
+        itemService.storeItems(saved);
+        indexAfterCommit(saved);
+        return saved.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    // The index answers searches and ETags, so it only learns about minutes once they are committed
+    private void indexAfterCommit(List<MeetingMinutes> saved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            saved.forEach(searchIndex::add);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                saved.forEach(searchIndex::add);
+            }
+        });
+    }
+
+    public MeetingMinutes newMinutes(String title, String transcript, Map<String, String> minutes) {
+        MeetingMinutes entity = new MeetingMinutes();
+        entity.setTitle(title);
+        entity.setTranscript(transcript);
+        entity.setSummary(minutes.get("summary"));
+        entity.setKeyDecisions(minutes.get("keyDecisions"));
+        entity.setActionItems(minutes.get("actionItems"));
+        entity.setStructuredItems(minutes.get(StructuredMinutes.ITEMS));
+        return entity;
+    }
     
-    public List<MinutesResponse> getAllMinutes() {
-        return repository.findAll().stream()
+    public MinutesPage getMinutesPage(String cursor, int size, boolean includeSections) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells us whether there is a next page, without a count query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<? extends MinutesHeaderView> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = includeSections ? repository.findLatest(limit) : repository.findLatestHeaders(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = includeSections
+                    ? repository.findBefore(after.createdAt(), after.id(), limit)
+                    : repository.findHeadersBefore(after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<MinutesResponse> items = rows.stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasMore) {
+            MinutesHeaderView last = rows.get(rows.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new MinutesPage(items, nextCursor);
+    }
+    
+    public SearchResponse search(String query, int page, int size) {
+        return searchIndex.search(query, Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
     }
     
     public MinutesResponse getMinutesById(Long id) {
-        return repository.findById(id)
+        return repository.findViewById(id)
                 .map(this::toResponse)
                 .orElseThrow(() -> new RuntimeException("Minutes not found"));
     }
+
+    // Minutes never change once saved, so id and creation time identify them for good. Answered from
+    // the search index, which holds every saved meeting, so a conditional GET needs no query
+    public Optional<String> knownETag(Long id, String representation) {
+        return searchIndex.createdAt(id).map(createdAt -> eTag(representation, id, createdAt));
+    }
+
+    public String eTag(String representation, MinutesResponse minutes) {
+        return eTag(representation, minutes.getId(), LocalDateTime.parse(minutes.getCreatedAt()));
+    }
+
+    // Millisecond precision, the entity and the database disagree below that. Weak, since the same
+    // tag covers the gzip and the plain body (Tomcat does not compress strongly tagged responses)
+    private static String eTag(String representation, Long id, LocalDateTime createdAt) {
+        return "W/\"" + representation + "-" + id + "-"
+                + Long.toHexString(createdAt.toInstant(ZoneOffset.UTC).toEpochMilli()) + "\"";
+    }
+
+    // Minutes are only ever added, so a page is unchanged while the set of minutes is
+    public String pageETag(String cursor, int size, boolean includeSections) {
+        return "W/\"page-" + searchIndex.watermark() + "-"
+                + Integer.toHexString(Objects.hash(cursor, size, includeSections)) + "\"";
+    }
+
+    // The only read path that inflates a transcript
+    public String getTranscript(Long id) {
+        return transcriptStore.load(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transcript not found"));
+    }
+
+    private MinutesResponse toResponse(MinutesHeaderView view) {
+        if (view instanceof MinutesView full) {
+            return new MinutesResponse(
+                    full.getId(),
+                    full.getTitle(),
+                    full.getSummary(),
+                    full.getKeyDecisions(),
+                    full.getActionItems(),
+                    full.getCreatedAt().toString()
+            );
+        }
+        return new MinutesResponse(view.getId(), view.getTitle(), null, null, null, view.getCreatedAt().toString());
+    }
     
+    // Position of the last row of a page: (createdAt, id), newest first
+    private record PageCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+
     private MinutesResponse toResponse(MeetingMinutes entity) {
         return new MinutesResponse(
                 entity.getId(),
@@ -0,0 +1,214 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.cimba.meetingminutes.dto.BatchItemResult;
+import com.cimba.meetingminutes.dto.MinutesResponse;
+import com.cimba.meetingminutes.dto.TranscriptRequest;
+import com.cimba.meetingminutes.model.MeetingMinutes;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Backfill of many transcripts in one request. Items are summarized with bounded parallelism,
+// saved by a single writer in JDBC insert batches, and reported as NDJSON lines as they finish.
+@Slf4j
+@Service
+public class MinutesBatchService {
+
+    private final OpenAIService openAIService;
+    private final MeetingMinutesService minutesService;
+    private final ExecutorService batchExecutor;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader itemReader;
+    private final int parallelism;
+    private final int flushSize;
+    private final long flushIntervalMs;
+
+    public MinutesBatchService(OpenAIService openAIService,
+                               MeetingMinutesService minutesService,
+                               @Qualifier("minutesBatchExecutor") ExecutorService batchExecutor,
+                               ObjectMapper objectMapper,
+                               @Value("${minutes.batch.parallelism:4}") int parallelism,
+                               @Value("${minutes.batch.flush-size:50}") int flushSize,
+                               @Value("${minutes.batch.flush-interval:500ms}") Duration flushInterval) {
+        this.openAIService = openAIService;
+        this.minutesService = minutesService;
+        this.batchExecutor = batchExecutor;
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(TranscriptRequest.class);
+        this.parallelism = parallelism;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushInterval.toMillis();
+    }
+
+    // Accepts a JSON array or NDJSON; both are read lazily, one item at a time
+    public StreamingResponseBody ingest(InputStream input) {
+        return output -> new BatchRun(output).run(input);
+    }
+
+    private record Summarized(int index, TranscriptRequest request, Map<String, String> minutes,
+                              BatchItemResult failure) {
+    }
+
+    private class BatchRun {
+        private final OutputStream output;
+        // At most `parallelism` items of this batch are summarized or waiting for a worker
+        private final Semaphore permits = new Semaphore(parallelism);
+        private final BlockingQueue<Summarized> finished = new LinkedBlockingQueue<>();
+        private final List<Summarized> unsaved = new ArrayList<>();
+        private int submitted;
+        private int reported;
+        private long lastFlush = System.currentTimeMillis();
+        private boolean clientGone;
+
+        BatchRun(OutputStream output) {
+            this.output = output;
+        }
+
+        void run(InputStream input) {
+            try {
+                int index = 0;
+                try (MappingIterator<TranscriptRequest> items = itemReader.readValues(input)) {
+                    while (items.hasNextValue()) {
+                        TranscriptRequest request = items.nextValue();
+                        while (!permits.tryAcquire(flushIntervalMs, TimeUnit.MILLISECONDS)) {
+                            drain(false);
+                        }
+                        submit(index++, request);
+                        drain(false);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Items read so far are still completed, nothing after the bad input is
+                    write(BatchItemResult.failed(index, "Unreadable input: " + e.getMessage()));
+                }
+
+                while (reported < submitted) {
+                    Summarized next = finished.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        accept(next);
+                    }
+                    drain(false);
+                }
+                drain(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void submit(int index, TranscriptRequest request) {
+            submitted++;
+            if (request == null || request.getTranscript() == null || request.getTranscript().isBlank()) {
+                permits.release();
+                finished.add(new Summarized(index, request, null, BatchItemResult.failed(index, "Transcript is required")));
+                return;
+            }
+            try {
+                batchExecutor.execute(() -> {
+                    try {
+                        Map<String, String> minutes = openAIService.generateMinutes(request.getTranscript());
+                        finished.add(new Summarized(index, request, minutes, null));
+                    } catch (RetryLaterException e) {
+                        finished.add(new Summarized(index, request, null,
+                                BatchItemResult.rateLimited(index, Math.max(1, e.getRetryAfter().toSeconds()))));
+                    } catch (RuntimeException e) {
+                        finished.add(new Summarized(index, request, null, BatchItemResult.failed(index, e.getMessage())));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                finished.add(new Summarized(index, request, null, BatchItemResult.failed(index, "Server is shutting down")));
+            }
+        }
+
+        private void drain(boolean force) {
+            Summarized next;
+            while ((next = finished.poll()) != null) {
+                accept(next);
+            }
+            boolean due = System.currentTimeMillis() - lastFlush >= flushIntervalMs;
+            if (!unsaved.isEmpty() && (force || due || unsaved.size() >= flushSize)) {
+                save();
+            }
+            flush();
+        }
+
+        private void accept(Summarized item) {
+            if (item.failure() != null) {
+                reported++;
+                write(item.failure());
+                return;
+            }
+            unsaved.add(item);
+            if (unsaved.size() >= flushSize) {
+                save();
+            }
+        }
+
+        private void save() {
+            List<MeetingMinutes> entities = new ArrayList<>();
+            for (Summarized item : unsaved) {
+                entities.add(minutesService.newMinutes(item.request().getTitle(), item.request().getTranscript(), item.minutes()));
+            }
+            try {
+                List<MinutesResponse> saved = minutesService.saveAllMinutes(entities);
+                for (int i = 0; i < saved.size(); i++) {
+                    write(BatchItemResult.saved(unsaved.get(i).index(), saved.get(i)));
+                }
+            } catch (RuntimeException e) {
+                log.error("Batch insert failed items={}", entities.size(), e);
+                for (Summarized item : unsaved) {
+                    write(BatchItemResult.failed(item.index(), "Could not save minutes"));
+                }
+            }
+            reported += unsaved.size();
+            unsaved.clear();
+            lastFlush = System.currentTimeMillis();
+            flush();
+        }
+
+        // A client that disconnected stops getting lines, but what was summarized is still saved
+        private void write(BatchItemResult result) {
+            if (clientGone) {
+                return;
+            }
+            try {
+                output.write(objectMapper.writeValueAsBytes(result));
+                output.write('\n');
+            } catch (IOException e) {
+                clientGone = true;
+            }
+        }
+
+        private void flush() {
+            if (clientGone) {
+                return;
+            }
+            try {
+                output.flush();
+            } catch (IOException e) {
+                clientGone = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.model.ActionItem;
+import com.cimba.meetingminutes.model.Decision;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Turns the canonical bullet text of a section back into rows:
+//   • [Task] - Assigned to: [Person] - Due: [Deadline]
+//   • [Decision] - [Details]
+// Text and streamed model output, the heuristic fallback and merged chunks use this format;
+// structured output is turned into rows by StructuredMinutes instead.
+final class MinutesItemParser {
+
+    private static final Pattern ACTION = Pattern.compile(
+            "^(.*?)\\s+[-–—]\\s+Assigned to:\\s*(.*?)(?:\\s+[-–—]\\s+Due:\\s*(.*))?$",
+            Pattern.CASE_INSENSITIVE);
+    // Split at the last dash: "Adopt OAuth - PKCE flow - Confirmed by Priya" decides "Adopt OAuth - PKCE flow"
+    private static final Pattern DECISION = Pattern.compile("^(.*)\\s+[-–—]\\s+(.*)$");
+    private static final Pattern BULLET = Pattern.compile("^(?:[•*\\-]|\\d+[.)])\\s*");
+    private static final Pattern ISO_DATE = Pattern.compile("\\b(\\d{4}-\\d{2}-\\d{2})\\b");
+
+    // Column sizes of ActionItem and Decision; a heuristic bullet can be a whole unbroken transcript
+    static final int TEXT_LENGTH = 2000;
+    static final int NAME_LENGTH = 255;
+
+    private MinutesItemParser() {
+    }
+
+    static List<ActionItem> actionItems(String section, LocalDate meetingDate) {
+        List<ActionItem> items = new ArrayList<>();
+        for (String bullet : MinutesMerger.bullets(section)) {
+            String text = clean(bullet);
+            if (text.isEmpty()) {
+                continue;
+            }
+            ActionItem item = new ActionItem();
+            Matcher matcher = ACTION.matcher(text);
+            if (matcher.matches()) {
+                item.setTask(fit(matcher.group(1).trim(), TEXT_LENGTH));
+                String assignee = fit(matcher.group(2).trim(), NAME_LENGTH);
+                if (!assignee.isEmpty() && !assignee.startsWith("[")) {
+                    item.setAssignee(assignee);
+                    item.setAssigneeKey(assigneeKey(assignee));
+                }
+                String due = matcher.group(3) != null ? matcher.group(3).trim() : null;
+                item.setDueText(due == null || due.isEmpty() ? null : fit(due, NAME_LENGTH));
+                item.setDueDate(resolveDueDate(due, meetingDate));
+            } else {
+                item.setTask(fit(text, TEXT_LENGTH));
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    static List<Decision> decisions(String section) {
+        List<Decision> decisions = new ArrayList<>();
+        for (String bullet : MinutesMerger.bullets(section)) {
+            String text = clean(bullet);
+            if (text.isEmpty()) {
+                continue;
+            }
+            Decision decision = new Decision();
+            Matcher matcher = DECISION.matcher(text);
+            if (matcher.matches()) {
+                decision.setDecision(fit(matcher.group(1).trim(), TEXT_LENGTH));
+                decision.setDetails(fit(matcher.group(2).trim(), TEXT_LENGTH));
+            } else {
+                decision.setDecision(fit(text, TEXT_LENGTH));
+            }
+            decisions.add(decision);
+        }
+        return decisions;
+    }
+
+    static String fit(String text, int length) {
+        return text == null || text.length() <= length ? text : text.substring(0, length - 1) + "…";
+    }
+
+    static String assigneeKey(String assignee) {
+        return assignee == null ? null : assignee.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // "Thursday", "EOD", "2024-05-02"... relative to the meeting date; null if no day is named.
+    // A weekday is the next one after the meeting: "Thursday" said on a Thursday means next week
+    static LocalDate resolveDueDate(String due, LocalDate meetingDate) {
+        if (due == null || due.isBlank()) {
+            return null;
+        }
+        Matcher iso = ISO_DATE.matcher(due);
+        if (iso.find()) {
+            try {
+                return LocalDate.parse(iso.group(1));
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        String lower = due.toLowerCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (lower.contains(day.name().toLowerCase(Locale.ROOT))) {
+                return meetingDate.with(TemporalAdjusters.next(day));
+            }
+        }
+        if (lower.contains("tomorrow")) {
+            return meetingDate.plusDays(1);
+        }
+        if (lower.contains("today") || lower.contains("tonight") || lower.contains("eod")) {
+            return meetingDate;
+        }
+        if (lower.contains("next week")) {
+            return meetingDate.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        }
+        if (lower.contains("this week")) {
+            return meetingDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        }
+        return null;
+    }
+
+    // Bullet marker and markdown emphasis off, whitespace collapsed
+    private static String clean(String bullet) {
+        String text = BULLET.matcher(bullet).replaceFirst("");
+        return text.replace("**", "").replaceAll("\\s+", " ").trim();
+    }
+}
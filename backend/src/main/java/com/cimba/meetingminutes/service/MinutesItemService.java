@@ -0,0 +1,118 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.dto.ActionItemResponse;
+import com.cimba.meetingminutes.model.ActionItem;
+import com.cimba.meetingminutes.model.Decision;
+import com.cimba.meetingminutes.model.MeetingMinutes;
+import com.cimba.meetingminutes.repository.ActionItemRepository;
+import com.cimba.meetingminutes.repository.DecisionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Action items and decisions of saved minutes as rows, so "what is Rahul on the hook for"
+// is an index lookup instead of a scan over every meeting's text
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MinutesItemService {
+
+    // Open bounds for one-sided date ranges
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final ActionItemRepository actionItemRepository;
+    private final DecisionRepository decisionRepository;
+    private final ObjectMapper objectMapper;
+
+    // Called with freshly saved minutes; all rows go out in one insert batch per table
+    public void storeItems(List<MeetingMinutes> savedMinutes) {
+        List<ActionItem> actionItems = new ArrayList<>();
+        List<Decision> decisions = new ArrayList<>();
+        for (MeetingMinutes minutes : savedMinutes) {
+            LocalDate meetingDate = minutes.getCreatedAt().toLocalDate();
+            JsonNode structured = structuredItems(minutes);
+            List<ActionItem> minutesActions = structured != null
+                    ? StructuredMinutes.actionItems(structured, meetingDate)
+                    : MinutesItemParser.actionItems(minutes.getActionItems(), meetingDate);
+            List<Decision> minutesDecisions = structured != null
+                    ? StructuredMinutes.decisions(structured)
+                    : MinutesItemParser.decisions(minutes.getKeyDecisions());
+            for (ActionItem item : minutesActions) {
+                item.setMinutesId(minutes.getId());
+                actionItems.add(item);
+            }
+            for (Decision decision : minutesDecisions) {
+                decision.setMinutesId(minutes.getId());
+                decisions.add(decision);
+            }
+        }
+        actionItemRepository.saveAll(actionItems);
+        decisionRepository.saveAll(decisions);
+    }
+
+    // The model's JSON fields when it answered with structured output; null means parse the section text
+    private JsonNode structuredItems(MeetingMinutes minutes) {
+        if (minutes.getStructuredItems() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(minutes.getStructuredItems());
+        } catch (Exception e) {
+            log.warn("Structured items unreadable, parsing the section text minutesId={}: {}", minutes.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    public List<ActionItemResponse> findOpenItems(String assignee, LocalDate from, LocalDate to) {
+        String assigneeKey = assignee == null || assignee.isBlank() ? null : MinutesItemParser.assigneeKey(assignee);
+        boolean byDate = from != null || to != null;
+        if (assigneeKey == null && !byDate) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give an assignee, a date range, or both");
+        }
+        LocalDate start = from != null ? from : EARLIEST;
+        LocalDate end = to != null ? to : LATEST;
+
+        List<ActionItem> items;
+        if (assigneeKey == null) {
+            items = actionItemRepository.findByDoneFalseAndDueDateBetweenOrderByDueDateAscIdAsc(start, end);
+        } else if (byDate) {
+            items = actionItemRepository.findByAssigneeKeyAndDoneFalseAndDueDateBetweenOrderByDueDateAscIdAsc(
+                    assigneeKey, start, end);
+        } else {
+            items = actionItemRepository.findByAssigneeKeyAndDoneFalseOrderByDueDateAscIdAsc(assigneeKey);
+        }
+        return items.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    public ActionItemResponse updateItem(Long id, Boolean done) {
+        ActionItem item = actionItemRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Action item not found"));
+        if (done != null) {
+            item.setDone(done);
+            item = actionItemRepository.save(item);
+        }
+        return toResponse(item);
+    }
+
+    private ActionItemResponse toResponse(ActionItem item) {
+        return new ActionItemResponse(
+                item.getId(),
+                item.getMinutesId(),
+                item.getTask(),
+                item.getAssignee(),
+                item.getDueText(),
+                item.getDueDate() != null ? item.getDueDate().toString() : null,
+                item.isDone()
+        );
+    }
+}
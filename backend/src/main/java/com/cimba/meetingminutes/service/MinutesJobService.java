@@ -0,0 +1,336 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.cimba.meetingminutes.dto.JobResponse;
+import com.cimba.meetingminutes.dto.MinutesResponse;
+import com.cimba.meetingminutes.dto.TranscriptRequest;
+import com.cimba.meetingminutes.model.JobKind;
+import com.cimba.meetingminutes.model.JobStatus;
+import com.cimba.meetingminutes.model.MinutesJob;
+import com.cimba.meetingminutes.repository.MinutesJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Background jobs go through the job table, so every node sharing the database shares the work.
+// A node claims a job by taking its lease, renews the lease while the job runs and gives it up
+// when the job is finished. Jobs of a node that died are claimed again once their lease expires,
+// so a job may run more than once but is only saved by the node holding the lease.
+@Slf4j
+@Service
+public class MinutesJobService implements DisposableBean {
+
+    private static final List<JobStatus> ACTIVE = List.of(JobStatus.QUEUED, JobStatus.TRANSCRIBING, JobStatus.SUMMARIZING);
+
+    private final MinutesJobRepository jobRepository;
+    private final MeetingMinutesService minutesService;
+    private final OpenAIService openAIService;
+    private final ExecutorService jobExecutor;
+    private final ScheduledExecutorService jobScheduler;
+    private final int poolSize;
+    private final int queueCapacity;
+    private final Duration lease;
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final int maxAttempts;
+    private final String nodeId;
+
+    // Jobs this node holds the lease of
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+    // Moving average of how long a job took here, to tell a rejected client when to come back
+    private volatile double usualJobNanos;
+
+    public MinutesJobService(MinutesJobRepository jobRepository,
+                             MeetingMinutesService minutesService,
+                             OpenAIService openAIService,
+                             @Qualifier("minutesJobExecutor") ExecutorService jobExecutor,
+                             @Qualifier("minutesJobScheduler") ScheduledExecutorService jobScheduler,
+                             @Value("${minutes.jobs.pool-size:4}") int poolSize,
+                             @Value("${minutes.jobs.queue-capacity:100}") int queueCapacity,
+                             @Value("${minutes.jobs.lease:60s}") Duration lease,
+                             @Value("${minutes.jobs.poll-interval:2s}") Duration pollInterval,
+                             @Value("${minutes.jobs.heartbeat-interval:15s}") Duration heartbeatInterval,
+                             @Value("${minutes.jobs.max-attempts:3}") int maxAttempts,
+                             @Value("${minutes.cluster.node-id:}") String nodeId) {
+        this.jobRepository = jobRepository;
+        this.minutesService = minutesService;
+        this.openAIService = openAIService;
+        this.jobExecutor = jobExecutor;
+        this.jobScheduler = jobScheduler;
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.lease = lease;
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxAttempts = maxAttempts;
+        // pid@host plus a suffix, so a restarted process never takes over the leases of its predecessor
+        this.nodeId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        jobScheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        jobScheduler.scheduleWithFixedDelay(this::renewLeases, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Job worker started node={} threads={} lease={}", nodeId, poolSize, lease);
+    }
+
+    // The jobs still running here go back to the queue now rather than when their lease expires
+    @Override
+    public void destroy() {
+        stopping = true;
+        try {
+            int released = jobRepository.releaseAll(ACTIVE, nodeId);
+            if (released > 0) {
+                log.info("Released job leases node={} jobs={}", nodeId, released);
+            }
+        } catch (Exception e) {
+            log.warn("Could not release job leases node={}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    public JobResponse submitAudio(String title, MultipartFile audioFile) {
+        checkQueue();
+        // Spool before returning, the multipart is cleaned up when the request ends
+        AudioUpload upload = minutesService.spool(audioFile);
+
+        MinutesJob job = newJob(title, JobKind.AUDIO);
+        job.setAudioPath(upload.getPath().toString());
+        job.setAudioFilename(upload.getOriginalFilename());
+        job.setAudioContentType(upload.getContentType());
+        job.setAudioSize(upload.getSize());
+        try {
+            job = jobRepository.save(job);
+        } catch (RuntimeException e) {
+            upload.close();
+            throw e;
+        }
+        tryClaim(job.getId());
+        return toResponse(job, null);
+    }
+
+    public JobResponse submitTranscript(TranscriptRequest request) {
+        checkQueue();
+        MinutesJob job = newJob(request.getTitle(), JobKind.TRANSCRIPT);
+        job.setTranscript(request.getTranscript());
+        job = jobRepository.save(job);
+        tryClaim(job.getId());
+        return toResponse(job, null);
+    }
+
+    // Served from the job table, so by any node whichever one runs the job
+    public JobResponse getJob(Long id) {
+        MinutesJob job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
+
+        MinutesResponse result = null;
+        if (job.getStatus() == JobStatus.DONE && job.getMinutesId() != null) {
+            result = minutesService.getMinutesById(job.getMinutesId());
+        }
+        return toResponse(job, result);
+    }
+
+    // The queue limit is shared: jobs no node has picked up yet, across the cluster
+    private void checkQueue() {
+        long queued = jobRepository.countByStatusAndLeaseOwnerIsNull(JobStatus.QUEUED);
+        if (queued >= queueCapacity) {
+            throw new RetryLaterException("Job queue is full, retry later", drainTime(queued));
+        }
+    }
+
+    // Roughly when enough queued jobs are done to make room, before any job finished the poll interval
+    private Duration drainTime(long queued) {
+        double jobNanos = usualJobNanos > 0 ? usualJobNanos : pollInterval.toNanos();
+        double drainNanos = (queued - queueCapacity + 1) / (double) Math.max(1, poolSize) * jobNanos;
+        return Duration.ofSeconds(Math.max(1, Math.min(60, (long) Math.ceil(drainNanos / 1e9))));
+    }
+
+    private static MinutesJob newJob(String title, JobKind kind) {
+        MinutesJob job = new MinutesJob();
+        job.setTitle(title);
+        job.setKind(kind);
+        job.setStatus(JobStatus.QUEUED);
+        job.setAttempts(0);
+        return job;
+    }
+
+    // Claims as many jobs as this node has free threads, oldest first
+    private void poll() {
+        try {
+            int free = poolSize - running.size();
+            if (free <= 0 || stopping) {
+                return;
+            }
+            for (Long jobId : jobRepository.findClaimable(ACTIVE, LocalDateTime.now(), Limit.of(free))) {
+                tryClaim(jobId);
+            }
+        } catch (Exception e) {
+            log.warn("Job poll failed node={}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    // Takes the lease and hands the job to a worker thread; false when no thread is free or
+    // another node was faster
+    private synchronized boolean tryClaim(Long jobId) {
+        if (stopping || running.size() >= poolSize || running.contains(jobId)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.claim(jobId, ACTIVE, nodeId, now, now.plus(lease)) == 0) {
+            return false;
+        }
+        running.add(jobId);
+        try {
+            jobExecutor.execute(() -> runJob(jobId));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the lease runs out and another node takes the job
+            running.remove(jobId);
+            return false;
+        }
+        log.debug("Job claimed jobId={} node={}", jobId, nodeId);
+        return true;
+    }
+
+    private void renewLeases() {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(lease);
+        for (Long jobId : running) {
+            try {
+                if (jobRepository.renew(jobId, ACTIVE, nodeId, expiresAt) == 0 && running.contains(jobId)) {
+                    // Only after a pause longer than the lease; the job will not be saved from here
+                    log.warn("Job lease lost jobId={} node={}", jobId, nodeId);
+                }
+            } catch (Exception e) {
+                log.warn("Could not renew job lease jobId={}: {}", jobId, e.getMessage());
+            }
+        }
+    }
+
+    private void runJob(Long jobId) {
+        long started = System.nanoTime();
+        MinutesJob job = null;
+        try {
+            job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getAttempts() > maxAttempts) {
+                // Every node that took it stopped while running it, most likely because of the job
+                finish(job, JobStatus.FAILED, null, "Gave up after " + maxAttempts + " attempts");
+                return;
+            }
+
+            String transcript;
+            if (job.getKind() == JobKind.TRANSCRIPT) {
+                transcript = job.getTranscript();
+            } else {
+                if (!updateStatus(jobId, JobStatus.TRANSCRIBING)) {
+                    return;
+                }
+                transcript = openAIService.transcribeAudio(spooledAudio(job));
+            }
+
+            if (!updateStatus(jobId, JobStatus.SUMMARIZING)) {
+                return;
+            }
+            Map<String, String> minutes = openAIService.generateMinutes(transcript);
+
+            // Renewed right before saving, so a node that lost the job does not save it as well
+            if (jobRepository.renew(jobId, ACTIVE, nodeId, LocalDateTime.now().plus(lease)) == 0) {
+                log.warn("Job lease lost before saving jobId={} node={}", jobId, nodeId);
+                return;
+            }
+            MinutesResponse saved = minutesService.saveMinutes(job.getTitle(), transcript, minutes);
+            finish(job, JobStatus.DONE, saved.getId(), null);
+            long took = System.nanoTime() - started;
+            usualJobNanos = usualJobNanos == 0 ? took : usualJobNanos + (took - usualJobNanos) * 0.1;
+        } catch (RetryLaterException e) {
+            if (job != null) {
+                postpone(job, e.getRetryAfter());
+            }
+        } catch (Exception e) {
+            log.warn("Job failed jobId={}", jobId, e);
+            if (job != null) {
+                finish(job, JobStatus.FAILED, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        } finally {
+            running.remove(jobId);
+        }
+    }
+
+    // The upload as spooled by the node that took it, not deleted until the job is finished
+    private static AudioUpload spooledAudio(MinutesJob job) {
+        if (job.getAudioPath() == null || !Files.isReadable(Path.of(job.getAudioPath()))) {
+            throw new IllegalStateException("Spooled audio is not readable on this node: " + job.getAudioPath()
+                    + " (minutes.audio.spool-dir must be shared by all nodes)");
+        }
+        return new AudioUpload(Path.of(job.getAudioPath()), job.getAudioFilename(), job.getAudioContentType(), job.getAudioSize());
+    }
+
+    private boolean updateStatus(Long jobId, JobStatus status) {
+        if (jobRepository.updateStatus(jobId, nodeId, status, LocalDateTime.now()) == 0) {
+            log.warn("Job lease lost jobId={} node={} status={}", jobId, nodeId, status);
+            return false;
+        }
+        return true;
+    }
+
+    // Quota is not a failure: any node may pick the job up again once the providers said to retry
+    private void postpone(MinutesJob job, Duration retryAfter) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.postpone(job.getId(), nodeId, JobStatus.QUEUED, now.plus(retryAfter), now) == 0) {
+            log.warn("Job lease lost before it was postponed jobId={} node={}", job.getId(), nodeId);
+            return;
+        }
+        log.info("Job postponed, providers out of quota jobId={} node={} retryAfterSeconds={}",
+                job.getId(), nodeId, retryAfter.toSeconds());
+    }
+
+    private void finish(MinutesJob job, JobStatus status, Long minutesId, String error) {
+        if (error != null && error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+        if (jobRepository.finish(job.getId(), nodeId, status, minutesId, error, LocalDateTime.now()) == 0) {
+            log.warn("Job lease lost before it finished jobId={} node={} status={}", job.getId(), nodeId, status);
+            return;
+        }
+        if (job.getAudioPath() != null) {
+            new AudioUpload(Path.of(job.getAudioPath()), job.getAudioFilename(), job.getAudioContentType(), 0).close();
+        }
+        log.info("Job finished jobId={} node={} status={} attempts={}", job.getId(), nodeId, status, job.getAttempts());
+    }
+
+    private JobResponse toResponse(MinutesJob job, MinutesResponse result) {
+        return new JobResponse(
+                job.getId(),
+                job.getTitle(),
+                job.getStatus().name(),
+                job.getError(),
+                job.getCreatedAt().toString(),
+                job.getUpdatedAt().toString(),
+                result
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.*;
+
+// Local part of the reduce step for chunked summarization: decisions and action items of all
+// chunks are merged and deduplicated, while the summaries are only deduplicated and concatenated
+// in chunk order. OpenAIService condenses that concatenation with one more model call.
+final class MinutesMerger {
+
+    private MinutesMerger() {
+    }
+
+    static Map<String, String> merge(List<Map<String, String>> chunkMinutes) {
+        List<String> summaries = new ArrayList<>();
+        Set<String> seenSummaries = new HashSet<>();
+        Map<String, String> decisions = new LinkedHashMap<>();
+        Map<String, String> actions = new LinkedHashMap<>();
+
+        for (Map<String, String> minutes : chunkMinutes) {
+            String summary = minutes.get("summary");
+            if (summary != null && !summary.isBlank() && !summary.startsWith("No summary")
+                    && seenSummaries.add(normalize(summary))) {
+                summaries.add(summary.trim());
+            }
+            collectBullets(minutes.get("keyDecisions"), decisions);
+            collectBullets(minutes.get("actionItems"), actions);
+        }
+
+        Map<String, String> merged = new HashMap<>();
+        merged.put("summary", summaries.isEmpty() ? "No summary generated." : String.join("\n\n", summaries));
+        merged.put("keyDecisions", decisions.isEmpty() ? "No key decisions identified." : String.join("\n", decisions.values()));
+        merged.put("actionItems", actions.isEmpty() ? "No action items identified." : String.join("\n", actions.values()));
+        return merged;
+    }
+
+    // Keyed by the normalized text, so the same bullet from overlapping chunks is kept once
+    private static void collectBullets(String section, Map<String, String> bullets) {
+        for (String bullet : bullets(section)) {
+            bullets.putIfAbsent(normalize(bullet), bullet);
+        }
+    }
+
+    // The bullets of a section, continuation lines joined to their bullet; empty for placeholders
+    static List<String> bullets(String section) {
+        List<String> bullets = new ArrayList<>();
+        if (section == null || section.isBlank() || section.startsWith("No ")) {
+            return bullets;
+        }
+
+        String current = null;
+        for (String line : section.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (isBullet(trimmed) || current == null) {
+                add(current, bullets);
+                current = trimmed;
+            } else {
+                current = current + " " + trimmed;
+            }
+        }
+        add(current, bullets);
+        return bullets;
+    }
+
+    private static void add(String bullet, List<String> bullets) {
+        if (bullet != null) {
+            bullets.add(bullet);
+        }
+    }
+
+    static boolean isBullet(String line) {
+        return line.startsWith("•") || line.startsWith("- ") || line.startsWith("* ");
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
@@ -0,0 +1,252 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.dto.SearchHit;
+import com.cimba.meetingminutes.dto.SearchResponse;
+import com.cimba.meetingminutes.model.MeetingMinutes;
+import com.cimba.meetingminutes.repository.MeetingMinutesRepository;
+import com.cimba.meetingminutes.repository.MinutesView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over stored minutes, ranked with BM25.
+// Built from the repository at startup and updated whenever minutes are saved. Minutes saved by
+// other nodes on the same database are picked up by a periodic catch-up.
+@Slf4j
+@Service
+public class MinutesSearchIndex {
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double SUMMARY_WEIGHT = 1.5;
+    private static final double SECTION_WEIGHT = 1.0;
+    private static final double TRANSCRIPT_WEIGHT = 0.3;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_BATCH = 500;
+
+    // Catch-up looks back this far, for transactions that committed after later ones
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(2);
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "we", "were", "will", "with");
+
+    private final MeetingMinutesRepository repository;
+    private final TranscriptStore transcriptStore;
+    private final boolean indexTranscript;
+
+    // term -> (meeting id -> weighted term frequency)
+    private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+    private final Map<Long, IndexedMeeting> meetings = new HashMap<>();
+    private double totalLength = 0;
+    private volatile LocalDateTime caughtUpTo;
+    private long maxId;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MinutesSearchIndex(MeetingMinutesRepository repository,
+                              TranscriptStore transcriptStore,
+                              @Value("${minutes.search.index-transcript:false}") boolean indexTranscript) {
+        this.repository = repository;
+        this.transcriptStore = transcriptStore;
+        this.indexTranscript = indexTranscript;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        caughtUpTo = LocalDateTime.now();
+        long started = System.currentTimeMillis();
+        int count = 0;
+        List<MinutesView> batch = repository.findLatest(Limit.of(REBUILD_BATCH));
+        while (!batch.isEmpty()) {
+            for (MinutesView view : batch) {
+                String transcript = indexTranscript ? transcriptStore.load(view.getId()).orElse(null) : null;
+                add(view.getId(), view.getTitle(), view.getCreatedAt(), view.getSummary(),
+                        view.getKeyDecisions(), view.getActionItems(), transcript);
+            }
+            count += batch.size();
+            MinutesView last = batch.get(batch.size() - 1);
+            batch = repository.findBefore(last.getCreatedAt(), last.getId(), Limit.of(REBUILD_BATCH));
+        }
+        log.info("Search index built meetings={} durationMs={}", count, System.currentTimeMillis() - started);
+    }
+
+    // Adds what was saved since the last catch-up, by this node or any other
+    @Scheduled(fixedDelayString = "${minutes.search.catch-up-interval-ms:30000}",
+            initialDelayString = "${minutes.search.catch-up-interval-ms:30000}")
+    public void catchUp() {
+        if (caughtUpTo == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int before = size();
+        List<MinutesView> batch = repository.findAfter(caughtUpTo.minus(CATCH_UP_OVERLAP), 0L, Limit.of(REBUILD_BATCH));
+        while (!batch.isEmpty()) {
+            for (MinutesView view : batch) {
+                if (contains(view.getId())) {
+                    continue;
+                }
+                String transcript = indexTranscript ? transcriptStore.load(view.getId()).orElse(null) : null;
+                add(view.getId(), view.getTitle(), view.getCreatedAt(), view.getSummary(),
+                        view.getKeyDecisions(), view.getActionItems(), transcript);
+            }
+            MinutesView last = batch.get(batch.size() - 1);
+            batch = repository.findAfter(last.getCreatedAt(), last.getId(), Limit.of(REBUILD_BATCH));
+        }
+        caughtUpTo = now;
+        if (size() > before) {
+            log.info("Search index caught up added={}", size() - before);
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return meetings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean contains(Long id) {
+        lock.readLock().lock();
+        try {
+            return meetings.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Known without a query, since every saved meeting is indexed; empty when not indexed (yet)
+    public Optional<LocalDateTime> createdAt(Long id) {
+        lock.readLock().lock();
+        try {
+            IndexedMeeting meeting = meetings.get(id);
+            return Optional.ofNullable(meeting == null ? null : meeting.createdAt());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Changes whenever minutes are added; the same on every node that has indexed the same minutes
+    public String watermark() {
+        lock.readLock().lock();
+        try {
+            return meetings.size() + "-" + maxId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(MeetingMinutes minutes) {
+        add(minutes.getId(), minutes.getTitle(), minutes.getCreatedAt(), minutes.getSummary(),
+                minutes.getKeyDecisions(), minutes.getActionItems(), indexTranscript ? minutes.getTranscript() : null);
+    }
+
+    private void add(Long id, String title, LocalDateTime createdAt, String summary,
+                     String keyDecisions, String actionItems, String transcript) {
+        Map<String, Double> termWeights = new HashMap<>();
+        double length = 0;
+        length += collect(title, TITLE_WEIGHT, termWeights);
+        length += collect(summary, SUMMARY_WEIGHT, termWeights);
+        length += collect(keyDecisions, SECTION_WEIGHT, termWeights);
+        length += collect(actionItems, SECTION_WEIGHT, termWeights);
+        length += collect(transcript, TRANSCRIPT_WEIGHT, termWeights);
+
+        lock.writeLock().lock();
+        try {
+            if (meetings.containsKey(id)) {
+                return;
+            }
+            meetings.put(id, new IndexedMeeting(title, createdAt, length));
+            maxId = Math.max(maxId, id);
+            totalLength += length;
+            termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResponse search(String query, int page, int size) {
+        List<String> terms = tokenize(query);
+        List<Map.Entry<Long, Double>> ranked;
+        List<SearchHit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            int documents = meetings.size();
+            double averageLength = documents == 0 ? 0 : totalLength / documents;
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (String term : new LinkedHashSet<>(terms)) {
+                Map<Long, Double> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Double> match : matches.entrySet()) {
+                    double tf = match.getValue();
+                    double norm = 1 - B + B * meetings.get(match.getKey()).length() / averageLength;
+                    scores.merge(match.getKey(), idf * tf * (K1 + 1) / (tf + K1 * norm), Double::sum);
+                }
+            }
+
+            ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+
+            int from = Math.min(page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked.subList(from, to)) {
+                IndexedMeeting meeting = meetings.get(entry.getKey());
+                hits.add(new SearchHit(entry.getKey(), meeting.title(),
+                        meeting.createdAt() != null ? meeting.createdAt().toString() : null, entry.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SearchResponse(query, ranked.size(), page, size, hits);
+    }
+
+    private static double collect(String text, double weight, Map<String, Double> termWeights) {
+        if (text == null) {
+            return 0;
+        }
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            termWeights.merge(token, weight, Double::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                String term = token.toString();
+                if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+                    tokens.add(term);
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedMeeting(String title, LocalDateTime createdAt, double length) {
+    }
+}
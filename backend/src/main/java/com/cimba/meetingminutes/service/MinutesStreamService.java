@@ -0,0 +1,101 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.cimba.meetingminutes.dto.MinutesResponse;
+import com.cimba.meetingminutes.dto.MinutesSection;
+import com.cimba.meetingminutes.dto.TranscriptRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+// Server-sent events for POST /api/minutes/transcript/stream: a "section" event per completed
+// section, then "minutes" with the saved record, or "error" if the providers are out of quota
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MinutesStreamService {
+
+    private final OpenAIService openAIService;
+    private final MeetingMinutesService minutesService;
+
+    @Qualifier("minutesStreamExecutor")
+    private final ExecutorService streamExecutor;
+
+    @Value("${minutes.stream.timeout:5m}")
+    private Duration timeout;
+
+    public SseEmitter streamTranscript(TranscriptRequest request) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        try {
+            streamExecutor.execute(() -> run(request, new EventSink(emitter)));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many streams, retry later");
+        }
+        return emitter;
+    }
+
+    private void run(TranscriptRequest request, EventSink sink) {
+        try {
+            Map<String, String> minutes = openAIService.streamMinutes(request.getTranscript(),
+                    (name, content) -> sink.send("section", new MinutesSection(name, content)));
+            // Saved even if the client went away, the minutes are complete by now
+            MinutesResponse saved = minutesService.saveMinutes(request.getTitle(), request.getTranscript(), minutes);
+            sink.send("minutes", saved);
+            sink.complete();
+        } catch (RetryLaterException e) {
+            sink.send("error", Map.of("message", "Gemini quota exhausted, retry later",
+                    "retryAfterSeconds", Math.max(1, e.getRetryAfter().toSeconds())));
+            sink.complete();
+        } catch (Exception e) {
+            log.warn("Minutes stream failed: {}", e.getMessage());
+            sink.fail(e);
+        }
+    }
+
+    // A client that disconnected only stops the events, never the generation
+    private static class EventSink {
+        private final SseEmitter emitter;
+        private volatile boolean open = true;
+
+        EventSink(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onCompletion(() -> open = false);
+            emitter.onTimeout(() -> open = false);
+            emitter.onError(error -> open = false);
+        }
+
+        void send(String event, Object data) {
+            if (!open) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                open = false;
+            }
+        }
+
+        void complete() {
+            if (open) {
+                emitter.complete();
+            }
+        }
+
+        void fail(Exception e) {
+            if (open) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
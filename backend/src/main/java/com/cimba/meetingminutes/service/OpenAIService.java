@@ -1,27 +1,106 @@
 package com.cimba.meetingminutes.service;
 
+import com.cimba.meetingminutes.client.GeminiClient;
+import com.cimba.meetingminutes.client.HuggingFaceClient;
+import com.cimba.meetingminutes.client.InlineAudioRequestBody;
+import com.cimba.meetingminutes.client.ProviderCall;
+import com.cimba.meetingminutes.client.ProviderMetrics;
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class OpenAIService {
 
+    private final GeminiModelRegistry modelRegistry;
+    private final GeminiClient geminiClient;
+    private final HuggingFaceClient huggingFaceClient;
+    private final ResultCache resultCache;
+    private final ObjectMapper objectMapper;
+    private final AudioPreprocessor audioPreprocessor;
+    private final SegmentedTranscriber segmentedTranscriber;
+    private final ProviderMetrics metrics;
+
+    @Qualifier("minutesSummaryExecutor")
+    private final ExecutorService summaryExecutor;
+
+    @Qualifier("minutesHedgeExecutor")
+    private final ExecutorService hedgeExecutor;
+
+    @Qualifier("minutesHedgeScheduler")
+    private final ScheduledExecutorService hedgeScheduler;
+
     @Value("${gemini.api.key}")
     private String apiKey;
     
     @Value("${huggingface.api.key:}")
     private String huggingFaceKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // Transcripts above this estimated size are summarized in chunks
+    @Value("${gemini.chunking.threshold-tokens:8000}")
+    private int chunkingThresholdTokens;
+
+    @Value("${gemini.chunking.max-chunk-tokens:6000}")
+    private int maxChunkTokens;
+
+    @Value("${gemini.hedging.enabled:true}")
+    private boolean hedgingEnabled;
+
+    // A model slower than this percentile of its recent latencies gets a backup request
+    @Value("${gemini.hedging.percentile:0.9}")
+    private double hedgingPercentile;
+
+    // Used until a model has enough latency samples
+    @Value("${gemini.hedging.default-delay-ms:10000}")
+    private long hedgingDefaultDelayMs;
+
+    @Value("${gemini.hedging.min-delay-ms:1000}")
+    private long hedgingMinDelayMs;
+
+    // Longest wait for a hedged result: the provider read timeout plus the rate limiter's wait budget
+    @Value("${gemini.hedging.timeout:150s}")
+    private Duration hedgingTimeout;
+
+    @Value("${gemini.prompt.compaction.enabled:true}")
+    private boolean compactionEnabled;
+
+    // Part of the cache keys, bump when the prompt or the transcription providers change
+    private static final String MINUTES_CACHE_VERSION = "minutes-v3";
+    private static final String AUDIO_TRANSCRIPTION_MODEL = "models/gemini-2.0-flash-exp";
+    private static final String AUDIO_MODELS = "hf:" + HuggingFaceClient.ASR_MODEL + "|gemini:" + AUDIO_TRANSCRIPTION_MODEL;
+
+    private static final Pattern SECTION_HEADER = Pattern.compile("(?i)SUMMARY:|KEY DECISIONS:|ACTION ITEMS:");
 
+    // Sent as Gemini's systemInstruction, the same on every request; the user turn only carries the transcript
     private static final String SYSTEM_INSTRUCTION = """
             You are an expert meeting minutes assistant. Analyze meeting transcripts and extract:
             1. A clear, specific summary of what was discussed
@@ -29,20 +108,88 @@ public class OpenAIService {
             3. Action items assigned to specific people with deadlines
 
             Be precise and extract actual names, dates, and commitments from the conversation.
+
+            Create meeting minutes in this EXACT format:
+
+            SUMMARY:
+            Write a comprehensive 3-4 sentence summary that includes:
+            - Main topics discussed
+            - Key participants and their roles
+            - Overall outcomes and next steps
+            Be specific about what was actually discussed in THIS meeting.
+
+            KEY DECISIONS:
+            List each concrete decision made in the meeting. For each decision include:
+            • What was decided
+            • Who made or confirmed the decision
+            • Any specific timelines or deadlines mentioned
+            • Technical details if applicable
+            Format: • [Decision] - [Context/Details]
+
+            ACTION ITEMS:
+            List every task assigned in the meeting. For each action item include:
+            • The specific task to be completed
+            • The person responsible (use actual names from transcript)
+            • The deadline or timeline mentioned
+            Format: • [Task description] - Assigned to: [Person Name] - Due: [Specific deadline]
+
+            IMPORTANT:
+            - Extract actual names, dates, and commitments from the conversation
+            - Be specific and detailed, not generic
+            - If a person is assigned multiple tasks, list each separately
+            - Include all deadlines mentioned (Thursday, Monday, EOD, etc.)
+            - Reference specific technical details (endpoints, tokens, testing, etc.)
+
+            Transcripts are condensed: filler words and back-channel replies are removed, timestamps appear
+            as occasional [time] markers and a "Speakers:" line may define short aliases (S1, S2, ...) for
+            speaker names. Always write the full names from that line, never the aliases.
             """;
 
-    public String transcribeAudio(MultipartFile audioFile) {
-        System.out.println("=== AUDIO TRANSCRIPTION ===");
-        System.out.println("File: " + audioFile.getOriginalFilename());
-        System.out.println("Size: " + audioFile.getSize() + " bytes");
+    public String transcribeAudio(AudioUpload audioFile) {
+        log.info("Transcribing audio file={} bytes={}", audioFile.getOriginalFilename(), audioFile.getSize());
+
+        // Same recording, same providers: never transcribe twice
+        String cacheKey = ResultCache.keyForFile("transcript", audioFile.getPath(),
+                AUDIO_MODELS + "|" + audioPreprocessor.fingerprint());
+        String transcription = resultCache.getLoaded(cacheKey, new TypeReference<>() {}, () -> transcribePreprocessed(audioFile));
+        if (transcription != null) {
+            metrics.outcome("transcription", "provider");
+            return transcription;
+        }
+        metrics.outcome("transcription", "demo");
+        return getDemoTranscript();
+    }
+
+    // The providers get the mono 16kHz, silence-trimmed version when the upload is PCM, in
+    // segments when it is long. A transcript with missing segments is used, also by identical
+    // uploads sharing the call, but not cached.
+    private ResultCache.Loaded<String> transcribePreprocessed(AudioUpload audioFile) {
+        try (AudioPreprocessor.Processed processed = audioPreprocessor.process(audioFile)) {
+            if (processed == null) {
+                return ResultCache.Loaded.cached(transcribeWithProviders(audioFile));
+            }
+            if (!segmentedTranscriber.shouldSplit(processed)) {
+                return ResultCache.Loaded.cached(transcribeWithProviders(processed.getUpload()));
+            }
+            SegmentedTranscriber.Result result = segmentedTranscriber.transcribe(processed, AUDIO_MODELS, this::transcribeWithProviders);
+            if (result == null) {
+                return ResultCache.Loaded.cached(null);
+            }
+            return result.complete()
+                    ? ResultCache.Loaded.cached(result.transcript())
+                    : ResultCache.Loaded.uncached(result.transcript());
+        }
+    }
+
+    // Returns null when no provider produced a transcription; throws RetryLaterException when the
+    // providers are only out of quota, so callers can retry instead of getting the demo transcript
+    private String transcribeWithProviders(AudioUpload audioFile) {
+        RetryLaterException rateLimited = null;
 
         // Try Hugging Face Inference API with correct content type
         if (huggingFaceKey != null && !huggingFaceKey.isEmpty() && !huggingFaceKey.equals("your-huggingface-api-key-here")) {
-            System.out.println("Trying Hugging Face Automatic Speech Recognition...");
             
             try {
-                String url = "https://router.huggingface.co/hf-inference/models/openai/whisper-large-v3";
-                
                 // Determine correct audio content type
                 String contentType = "audio/mpeg"; // default
                 String filename = audioFile.getOriginalFilename();
@@ -56,47 +203,41 @@ public class OpenAIService {
                     else if (filename.endsWith(".webm")) contentType = "audio/webm";
                 }
                 
-                System.out.println("Using content type: " + contentType);
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.set("Authorization", "Bearer " + huggingFaceKey);
-                headers.setContentType(MediaType.parseMediaType(contentType));
+                // Streamed from the spooled file, the recording is never loaded into the heap
+                log.debug("Calling Hugging Face ASR contentType={}", contentType);
+                Map<String, Object> response = huggingFaceClient.transcribe(audioFile.getPath(), contentType);
                 
-                byte[] audioBytes = audioFile.getBytes();
-                HttpEntity<byte[]> request = new HttpEntity<>(audioBytes, headers);
-                
-                System.out.println("Calling HF Router API with Content-Type: " + contentType);
-                ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, request, Map.class);
-                
-                if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                    String transcription = (String) response.getBody().get("text");
+                if (response != null) {
+                    String transcription = (String) response.get("text");
                     if (transcription != null && !transcription.isEmpty()) {
-                        System.out.println("✓ Hugging Face SUCCESS!");
-                        System.out.println("Transcription: " + transcription.substring(0, Math.min(200, transcription.length())));
+                        log.info("Hugging Face transcription succeeded chars={}", transcription.length());
                         return transcription;
                     }
                 }
-            } catch (HttpClientErrorException e) {
-                System.err.println("HF Router Error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
+            } catch (RetryLaterException e) {
+                log.warn("Hugging Face rate limited: {}", e.getMessage());
+                rateLimited = e;
+            } catch (HttpStatusCodeException e) {
+                log.warn("Hugging Face error status={} body={}", e.getStatusCode().value(), e.getResponseBodyAsString());
             } catch (Exception e) {
-                System.err.println("HF Router exception: " + e.getMessage());
+                log.warn("Hugging Face call failed: {}", e.getMessage());
             }
             
-            System.err.println("Hugging Face failed, trying Gemini...");
+            log.info("Hugging Face failed, trying Gemini");
         } else {
-            System.out.println("Hugging Face key not set, using Gemini...");
+            log.debug("Hugging Face key not set, using Gemini");
         }
 
         // Fallback to Gemini for audio transcription
         if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your-gemini-api-key-here")) {
-            System.err.println("ERROR: No API keys configured!");
-            return getDemoTranscript();
+            if (rateLimited != null) {
+                throw rateLimited;
+            }
+            log.error("No API keys configured, cannot transcribe audio");
+            return null;
         }
 
         try {
-            byte[] audioBytes = audioFile.getBytes();
-            String base64Audio = java.util.Base64.getEncoder().encodeToString(audioBytes);
-
             String mimeType = audioFile.getContentType();
             if (mimeType == null || mimeType.isEmpty()) {
                 String filename = audioFile.getOriginalFilename();
@@ -114,53 +255,41 @@ public class OpenAIService {
                 }
             }
 
-            System.out.println("MIME type: " + mimeType);
-            System.out.println("Base64 length: " + base64Audio.length());
-
-            String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash-exp:generateContent?key="
-                    + apiKey;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("contents", List.of(
-                    Map.of("parts", List.of(
-                            Map.of("text",
-                                    "Transcribe this audio recording. Provide the complete transcription of all spoken words."),
-                            Map.of("inline_data", Map.of("mime_type", mimeType, "data", base64Audio))))));
-
-            System.out.println("Sending request to Gemini...");
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+            InlineAudioRequestBody body = new InlineAudioRequestBody(
+                    "Transcribe this audio recording. Provide the complete transcription of all spoken words.",
+                    mimeType, audioFile.getPath());
 
+            log.debug("Calling Gemini transcription mimeType={} requestBytes={}", mimeType, body.contentLength());
             try {
-                ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, request, Map.class);
+                Map<String, Object> response = geminiClient.generateContent(AUDIO_TRANSCRIPTION_MODEL, body);
 
-                if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                    String transcription = extractGeminiContent(response.getBody());
-                    System.out.println("✓ SUCCESS! Transcription length: " + transcription.length());
-                    System.out.println(
-                            "First 200 chars: " + transcription.substring(0, Math.min(200, transcription.length())));
+                if (response != null) {
+                    String transcription = extractGeminiContent(response);
+                    if (transcription == null) {
+                        metrics.parseFailure("no_content");
+                        return null;
+                    }
+                    log.info("Gemini transcription succeeded chars={}", transcription.length());
                     return transcription;
                 } else {
-                    System.err.println("Non-OK response: " + response.getStatusCode());
-                    return getDemoTranscript();
-                }
-            } catch (HttpClientErrorException e) {
-                System.err.println("HTTP Error: " + e.getStatusCode());
-                if (e.getStatusCode().value() == 429) {
-                    System.err.println("Rate limit hit - returning demo transcript immediately");
-                    System.err.println("API quota exceeded. Please wait a few minutes before trying audio transcription again.");
+                    log.warn("Non-OK response from Gemini transcription");
+                    return null;
                 }
-                return getDemoTranscript();
+            } catch (HttpStatusCodeException e) {
+                log.warn("Gemini transcription error status={}", e.getStatusCode().value());
+                return null;
+            } catch (RetryLaterException e) {
+                throw e;
             } catch (Exception e) {
-                System.err.println("Inner exception: " + e.getMessage());
-                return getDemoTranscript();
+                log.warn("Gemini transcription failed: {}", e.getMessage());
+                return null;
             }
+        } catch (RetryLaterException e) {
+            log.warn("Transcription quota exceeded, asking the client to retry later");
+            throw e;
         } catch (Exception e) {
-            System.err.println("Outer exception: " + e.getMessage());
-            e.printStackTrace();
-            return getDemoTranscript();
+            log.error("Gemini transcription failed", e);
+            return null;
         }
     }
     
@@ -197,151 +326,501 @@ public class OpenAIService {
     public Map<String, String> generateMinutes(String transcript) {
         // Validate API key
         if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your-gemini-api-key-here")) {
-            System.err.println("ERROR: Gemini API key not configured!");
-            System.err.println("Get your FREE API key from: https://makersuite.google.com/app/apikey");
-            return createFallbackMinutes(transcript);
+            log.error("Gemini API key not configured, get one from https://makersuite.google.com/app/apikey");
+            return heuristicMinutes(transcript);
         }
 
-        // First, list available models to find the right one
-        listAvailableModels();
+        // Identical transcripts share one result, fallbacks and partly heuristic minutes are never cached
+        String cacheKey = ResultCache.keyForText(MINUTES_CACHE_VERSION, normalizeTranscript(transcript));
+        Map<String, String> result = resultCache.getLoaded(cacheKey, new TypeReference<>() {}, () -> {
+            if (TranscriptChunker.estimateTokens(transcript) > chunkingThresholdTokens) {
+                return summarizeInChunks(transcript);
+            }
+            return ResultCache.Loaded.cached(summarizeWithModels(transcript));
+        });
+        if (result != null) {
+            metrics.outcome("minutes", "provider");
+            return result;
+        }
 
-        // Try different model names (using the FREE models from the list)
-        String[] modelNames = {
-                "models/gemini-2.5-flash", // Free tier - Latest stable
-                "models/gemini-2.0-flash", // Free tier
-                "models/gemini-flash-latest", // Free tier
-                "models/gemini-pro-latest" // Free tier
-        };
+        log.warn("All models failed, using the heuristic fallback");
+        return heuristicMinutes(transcript);
+    }
+
+    // Live sessions: folds what was said since the last update into the current minutes (null before the
+    // first update). The prompt carries only those two, so an update costs the same at minute 5 and at
+    // minute 90. Never cached, every delta is new.
+    public Map<String, String> updateMinutes(Map<String, String> current, String delta) {
+        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your-gemini-api-key-here")) {
+            return heuristicUpdate(current, delta);
+        }
+
+        Map<String, String> result = generateWithModels(requestBody(buildUpdatePrompt(current, compact(delta)), true));
+        if (result != null) {
+            metrics.outcome("minutes", "provider");
+            return result;
+        }
+
+        log.warn("All models failed, updating live minutes with the heuristic fallback");
+        return heuristicUpdate(current, delta);
+    }
+
+    // Line endings and trailing whitespace do not change the minutes, so they do not change the cache key
+    private static String normalizeTranscript(String transcript) {
+        return transcript.replace("\r\n", "\n").replaceAll("[ \t]+\n", "\n").trim();
+    }
 
-        for (String modelName : modelNames) {
+    // Map-reduce for long meetings: chunks are summarized concurrently, their items merged locally
+    // and their summaries condensed by one more model call. Minutes where a chunk or the reduce
+    // fell back to the heuristic are returned uncached, to every caller sharing the call.
+    private ResultCache.Loaded<Map<String, String>> summarizeInChunks(String transcript) {
+        List<String> chunks = TranscriptChunker.split(transcript, maxChunkTokens);
+        log.info("Long transcript, summarizing in chunks chunks={}", chunks.size());
+
+        List<CompletableFuture<Map<String, String>>> futures = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunk = "(Part " + (i + 1) + " of " + chunks.size() + " of a longer meeting)\n" + chunks.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> summarizeWithModels(chunk), summaryExecutor));
+        }
+
+        List<Map<String, String>> chunkMinutes = new ArrayList<>();
+        boolean anySucceeded = false;
+        boolean allSucceeded = true;
+        for (int i = 0; i < futures.size(); i++) {
+            Map<String, String> minutes;
             try {
-                System.out.println("Trying model: " + modelName);
-                String url = "https://generativelanguage.googleapis.com/v1beta/" + modelName + ":generateContent?key="
-                        + apiKey;
-                Map<String, String> result = callGeminiAPI(url, transcript);
-                if (result != null) {
-                    System.out.println("✓ SUCCESS with model: " + modelName);
-                    return result;
+                minutes = futures.get(i).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RetryLaterException rateLimited) {
+                    throw rateLimited;
                 }
-            } catch (Exception e) {
-                System.err.println("✗ Model " + modelName + " failed");
+                throw e;
             }
+            if (minutes != null) {
+                anySucceeded = true;
+                chunkMinutes.add(minutes);
+            } else {
+                // Keep the heuristic decisions and action items of a failed chunk, but not its canned summary
+                Map<String, String> fallback = new HashMap<>(createFallbackMinutes(chunks.get(i)));
+                fallback.remove("summary");
+                chunkMinutes.add(fallback);
+                allSucceeded = false;
+            }
+        }
+        if (!anySucceeded) {
+            return ResultCache.Loaded.cached(null);
         }
 
-        System.err.println("All models failed, using fallback");
-        return createFallbackMinutes(transcript);
+        Map<String, String> merged = new HashMap<>(MinutesMerger.merge(chunkMinutes));
+        if (chunkMinutes.size() > 1) {
+            String summary = reduceSummaries(merged.get("summary"));
+            if (summary != null) {
+                merged.put("summary", summary);
+            } else {
+                allSucceeded = false;
+            }
+        }
+        if (!allSucceeded) {
+            log.warn("Chunked minutes are partly heuristic, not caching them chunks={}", chunks.size());
+            return ResultCache.Loaded.uncached(merged);
+        }
+        return ResultCache.Loaded.cached(merged);
     }
 
-    private void listAvailableModels() {
+    // One model call turning the chunk summaries, in meeting order, into a summary of the whole
+    // meeting; null if no model produced one, and the caller keeps the chunk summaries as they are
+    private String reduceSummaries(String chunkSummaries) {
+        if (chunkSummaries.startsWith("No summary")) {
+            return chunkSummaries;
+        }
+        String prompt = "These are the summaries of consecutive parts of one long meeting, in order.\n"
+                + "Write the SUMMARY of the whole meeting from them, 3-4 sentences; leave KEY DECISIONS and ACTION ITEMS empty.\n\n"
+                + "PART SUMMARIES:\n" + chunkSummaries;
         try {
-            String url = "https://generativelanguage.googleapis.com/v1beta/models?key=" + apiKey;
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> request = new HttpEntity<>(headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, request, Map.class);
-            System.out.println("=== Available Gemini Models ===");
-            if (response.getBody() != null) {
-                List<Map<String, Object>> models = (List<Map<String, Object>>) response.getBody().get("models");
-                if (models != null) {
-                    for (Map<String, Object> model : models) {
-                        String name = (String) model.get("name");
-                        List<String> methods = (List<String>) model.get("supportedGenerationMethods");
-                        if (methods != null && methods.contains("generateContent")) {
-                            System.out.println("✓ " + name + " - supports generateContent");
+            Map<String, String> reduced = generateWithModels(requestBody(prompt, false));
+            String summary = reduced != null ? reduced.get("summary") : null;
+            if (summary == null || summary.isBlank() || summary.startsWith("No summary")) {
+                return null;
+            }
+            return summary;
+        } catch (RetryLaterException e) {
+            log.warn("Summary reduce rate limited, keeping the chunk summaries: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, String> summarizeWithModels(String transcript) {
+        return generateWithModels(buildRequestBody(transcript, true));
+    }
+
+    // Tries models in order of live health, healthy and available ones first; null if all fail.
+    // Throws RetryLaterException if every model failed only because its quota ran out.
+    private Map<String, String> generateWithModels(Map<String, Object> requestBody) {
+        List<String> models = new ArrayList<>();
+        for (String modelName : modelRegistry.rankedModels()) {
+            if (geminiClient.isAvailable(modelName)) {
+                models.add(modelName);
+            } else {
+                // Open breaker: skip without paying for a timeout
+                log.debug("Model skipped, circuit open model={}", modelName);
+            }
+        }
+
+        RateLimitTracker rateLimits = new RateLimitTracker();
+        Map<String, String> result = null;
+        if (hedgingEnabled && models.size() > 1) {
+            result = summarizeHedged(models, requestBody, rateLimits);
+        } else {
+            result = trySequentially(models, requestBody, rateLimits);
+        }
+
+        if (result == null && !models.isEmpty() && rateLimits.count.get() == models.size()) {
+            throw rateLimits.last;
+        }
+        return result;
+    }
+
+    private static class RateLimitTracker {
+        final AtomicInteger count = new AtomicInteger();
+        volatile RetryLaterException last;
+
+        void record(RetryLaterException e) {
+            last = e;
+            count.incrementAndGet();
+        }
+    }
+
+    private Map<String, String> trySequentially(List<String> models, Map<String, Object> requestBody,
+                                                RateLimitTracker rateLimits) {
+        for (String modelName : models) {
+            Map<String, String> result = tryModel(modelName, requestBody, rateLimits);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    // Starts the next model when the current one is slower than its usual latency percentile
+    // (or fails), and returns the first valid result; the HTTP requests of the other attempts are
+    // aborted. A full attempt pool skips the hedges rather than running them on the timer thread.
+    private Map<String, String> summarizeHedged(List<String> models, Map<String, Object> requestBody,
+                                                RateLimitTracker rateLimits) {
+        CompletableFuture<Map<String, String>> winner = new CompletableFuture<>();
+        List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        List<ProviderCall> calls = new CopyOnWriteArrayList<>();
+        AtomicInteger nextModel = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+
+        Runnable launchNext = new Runnable() {
+            @Override
+            public void run() {
+                int index = nextModel.getAndIncrement();
+                if (index >= models.size() || winner.isDone()) {
+                    return;
+                }
+                String modelName = models.get(index);
+                AtomicBoolean successorStarted = new AtomicBoolean();
+                Runnable startSuccessor = () -> {
+                    if (successorStarted.compareAndSet(false, true)) {
+                        run();
+                    }
+                };
+
+                long delay = hedgeDelayMs(modelName);
+                hedgeScheduler.schedule(() -> {
+                    if (!winner.isDone()) {
+                        log.info("Model slower than usual, hedging model={} delayMs={}", modelName, delay);
+                        startSuccessor.run();
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+
+                ProviderCall call = new ProviderCall();
+                calls.add(call);
+                try {
+                    attempts.add(hedgeExecutor.submit(() -> {
+                        Map<String, String> result = call.run(() -> tryModel(modelName, requestBody, rateLimits));
+                        if (result != null) {
+                            winner.complete(result);
+                        } else {
+                            startSuccessor.run();
+                        }
+                        if (finished.incrementAndGet() == models.size()) {
+                            winner.complete(null);
                         }
+                    }));
+                    if (winner.isDone()) {
+                        // Started while the result came in, after the others were cancelled
+                        call.cancel();
+                    }
+                } catch (RejectedExecutionException e) {
+                    calls.remove(call);
+                    if (index == 0) {
+                        throw e;
+                    }
+                    // This model and the ones after it are not tried; the attempts already running decide
+                    int skipped = 1;
+                    while (nextModel.getAndIncrement() < models.size()) {
+                        skipped++;
+                    }
+                    log.warn("Hedge skipped, no attempt thread free model={} skippedModels={}", modelName, skipped);
+                    if (finished.addAndGet(skipped) == models.size()) {
+                        winner.complete(null);
                     }
                 }
             }
-            System.out.println("================================");
+        };
+
+        try {
+            launchNext.run();
+        } catch (RejectedExecutionException e) {
+            log.warn("No attempt thread free, trying models without hedging");
+            return trySequentially(models, requestBody, rateLimits);
+        }
+
+        try {
+            return winner.get(hedgingTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Hedged attempts timed out timeoutMs={}", hedgingTimeout.toMillis());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hedged attempt failed", e.getCause());
+        } finally {
+            calls.forEach(ProviderCall::cancel);
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    private long hedgeDelayMs(String modelName) {
+        long percentile = modelRegistry.latencyPercentile(modelName, hedgingPercentile);
+        return percentile < 0 ? hedgingDefaultDelayMs : Math.max(hedgingMinDelayMs, percentile);
+    }
+
+    private Map<String, String> tryModel(String modelName, Map<String, Object> requestBody, RateLimitTracker rateLimits) {
+        long started = System.currentTimeMillis();
+        try {
+            log.debug("Trying model={}", modelName);
+            Map<String, String> result = callGeminiAPI(modelName, requestBody);
+            if (result != null) {
+                modelRegistry.recordSuccess(modelName, System.currentTimeMillis() - started);
+                log.info("Minutes generated model={} durationMs={}", modelName, System.currentTimeMillis() - started);
+                return result;
+            }
+        } catch (RetryLaterException e) {
+            if (!ProviderCall.isCancelled()) {
+                // Out of quota is not unhealthy, so it does not count against the model
+                log.warn("Model rate limited model={}: {}", modelName, e.getMessage());
+                rateLimits.record(e);
+            }
+            return null;
         } catch (Exception e) {
-            System.err.println("Could not list models: " + e.getMessage());
+            log.warn("Model failed model={}: {}", modelName, e.getMessage());
+        }
+        if (ProviderCall.isCancelled()) {
+            // Another model answered first and this request was aborted, not the model's fault
+            log.debug("Model attempt cancelled model={}", modelName);
+            return null;
+        }
+        modelRegistry.recordFailure(modelName, System.currentTimeMillis() - started);
+        return null;
+    }
+
+    // Streams the minutes of one transcript, handing each section to onSection as soon as it is
+    // complete. A section can be reported again when the final text replaces an early version.
+    public Map<String, String> streamMinutes(String transcript, BiConsumer<String, String> onSection) {
+        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your-gemini-api-key-here")) {
+            log.error("Gemini API key not configured, get one from https://makersuite.google.com/app/apikey");
+            return reportAll(heuristicMinutes(transcript), onSection);
+        }
+
+        String cacheKey = ResultCache.keyForText(MINUTES_CACHE_VERSION, normalizeTranscript(transcript));
+        Map<String, String> cached = resultCache.peek(cacheKey, new TypeReference<>() {});
+        if (cached != null) {
+            metrics.outcome("minutes", "provider");
+            return reportAll(cached, onSection);
+        }
+        // Chunked minutes only exist after the merge, there is nothing to stream before that
+        if (TranscriptChunker.estimateTokens(transcript) > chunkingThresholdTokens) {
+            return reportAll(generateMinutes(transcript), onSection);
+        }
+
+        RateLimitTracker rateLimits = new RateLimitTracker();
+        int attempted = 0;
+        for (String modelName : modelRegistry.rankedModels()) {
+            if (!geminiClient.isAvailable(modelName)) {
+                log.debug("Model skipped, circuit open model={}", modelName);
+                continue;
+            }
+            attempted++;
+            IncrementalMinutesParser parser = new IncrementalMinutesParser(onSection, OpenAIService::parseMinutes);
+            long started = System.currentTimeMillis();
+            try {
+                log.debug("Streaming from model={}", modelName);
+                // Plain text, not structured output: sections can only be told apart while streaming as text
+                geminiClient.streamGenerateContent(modelName, buildRequestBody(transcript, false),
+                        event -> parser.append(extractStreamedText(event)));
+                Map<String, String> result = parser.finish();
+                modelRegistry.recordSuccess(modelName, System.currentTimeMillis() - started);
+                resultCache.put(cacheKey, result);
+                metrics.outcome("minutes", "provider");
+                return result;
+            } catch (RetryLaterException e) {
+                log.warn("Model rate limited model={}: {}", modelName, e.getMessage());
+                rateLimits.record(e);
+            } catch (Exception e) {
+                log.warn("Streaming failed model={}: {}", modelName, e.getMessage());
+                modelRegistry.recordFailure(modelName, System.currentTimeMillis() - started);
+                if (parser.hasReported()) {
+                    // The client already has part of this answer, replace it with a complete one
+                    return reportAll(generateMinutes(transcript), onSection);
+                }
+            }
+        }
+
+        if (attempted > 0 && rateLimits.count.get() == attempted) {
+            throw rateLimits.last;
+        }
+        log.warn("All models failed, using the heuristic fallback");
+        return reportAll(heuristicMinutes(transcript), onSection);
+    }
+
+    private static Map<String, String> reportAll(Map<String, String> minutes, BiConsumer<String, String> onSection) {
+        for (String section : List.of("summary", "keyDecisions", "actionItems")) {
+            onSection.accept(section, minutes.get(section));
+        }
+        return minutes;
+    }
+
+    // Streamed chunks carry a slice of the text; the last one may only carry the finish reason
+    private static String extractStreamedText(Map<String, Object> event) {
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) event.get("candidates");
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+        Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+        List<Map<String, Object>> parts = content != null ? (List<Map<String, Object>>) content.get("parts") : null;
+        if (parts == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Map<String, Object> part : parts) {
+            Object slice = part.get("text");
+            if (slice != null) {
+                text.append(slice);
+            }
         }
+        return text.toString();
     }
 
-    private Map<String, String> callGeminiAPI(String url, String transcript) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    // Structured requests get JSON matching StructuredMinutes.RESPONSE_SCHEMA instead of section text
+    private Map<String, Object> buildRequestBody(String transcript, boolean structured) {
+        return requestBody(buildPrompt(compact(transcript)), structured);
+    }
 
-        String prompt = buildPrompt(transcript);
+    // Fewer input tokens for the same meeting: faster answers and more meetings per quota window
+    private String compact(String transcript) {
+        if (!compactionEnabled) {
+            return transcript;
+        }
+        TranscriptCompactor.Result compacted = TranscriptCompactor.compact(transcript);
+        metrics.promptTokens(compacted.originalTokens(), compacted.compactedTokens());
+        log.debug("Transcript compacted tokens={} compactedTokens={}", compacted.originalTokens(), compacted.compactedTokens());
+        return compacted.text();
+    }
+
+    private Map<String, Object> requestBody(String prompt, boolean structured) {
+        if (structured) {
+            prompt += "\nReturn the minutes as JSON following the response schema, one array entry per decision and per action item.\n";
+        }
 
         // Gemini API request format
         Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("systemInstruction", Map.of("parts", List.of(Map.of("text", SYSTEM_INSTRUCTION))));
         requestBody.put("contents", List.of(
-                Map.of("parts", List.of(
-                        Map.of("text", SYSTEM_INSTRUCTION + "\n\n" + prompt)))));
+                Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))));
 
         Map<String, Object> generationConfig = new HashMap<>();
         generationConfig.put("temperature", 0.2);
         generationConfig.put("maxOutputTokens", 2048);
+        if (structured) {
+            generationConfig.put("responseMimeType", "application/json");
+            generationConfig.put("responseSchema", StructuredMinutes.RESPONSE_SCHEMA);
+        }
         requestBody.put("generationConfig", generationConfig);
+        return requestBody;
+    }
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
+    private Map<String, String> callGeminiAPI(String modelName, Map<String, Object> requestBody) {
         try {
-            System.out.println("Calling Google Gemini API...");
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, request, Map.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                System.out.println("Gemini API call successful!");
-                String content = extractGeminiContent(response.getBody());
-                System.out
-                        .println("Generated content: " + content.substring(0, Math.min(200, content.length())) + "...");
-                return parseMinutes(content);
+            Map<String, Object> response = geminiClient.generateContent(modelName, requestBody);
+
+            if (response != null) {
+                String content = extractGeminiContent(response);
+                if (content == null) {
+                    metrics.parseFailure("no_content");
+                    return null;
+                }
+                log.debug("Generated content model={} chars={}", modelName, content.length());
+                return parseModelOutput(content);
             } else {
-                System.err.println("Gemini API returned non-OK status: " + response.getStatusCode());
+                log.warn("Gemini returned a non-OK status model={}", modelName);
                 return null;
             }
-        } catch (HttpClientErrorException e) {
-            System.err.println("Gemini API HTTP Error: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
+        } catch (HttpStatusCodeException e) {
+            log.warn("Gemini error model={} status={} body={}", modelName, e.getStatusCode().value(), e.getResponseBodyAsString());
             return null;
+        } catch (RetryLaterException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Gemini API Error: " + e.getClass().getName() + " - " + e.getMessage());
+            if (ProviderCall.isCancelled()) {
+                log.debug("Gemini call aborted model={}", modelName);
+            } else {
+                log.warn("Gemini call failed model={}: {}", modelName, e.toString());
+            }
             return null;
         }
     }
 
-    private String buildPrompt(String transcript) {
-        return String.format("""
-                Analyze this meeting transcript carefully and create detailed meeting minutes.
-
-                MEETING TRANSCRIPT:
-                %s
+    // Package-private static, like parseMinutes and extractGeminiContent, for the JMH benchmarks.
+    // The format instructions are in SYSTEM_INSTRUCTION.
+    static String buildPrompt(String transcript) {
+        return "Analyze this meeting transcript carefully and create detailed meeting minutes.\n\n"
+                + "MEETING TRANSCRIPT:\n" + transcript;
+    }
 
-                Create meeting minutes in this EXACT format:
+    static String buildUpdatePrompt(Map<String, String> current, String delta) {
+        String none = "(nothing yet)";
+        return String.format("""
+                You are keeping the minutes of a meeting that is still in progress.
 
+                CURRENT MINUTES:
                 SUMMARY:
-                Write a comprehensive 3-4 sentence summary that includes:
-                - Main topics discussed
-                - Key participants and their roles
-                - Overall outcomes and next steps
-                Be specific about what was actually discussed in THIS meeting.
+                %s
 
                 KEY DECISIONS:
-                List each concrete decision made in the meeting. For each decision include:
-                • What was decided
-                • Who made or confirmed the decision
-                • Any specific timelines or deadlines mentioned
-                • Technical details if applicable
-                Format: • [Decision] - [Context/Details]
+                %s
 
                 ACTION ITEMS:
-                List every task assigned in the meeting. For each action item include:
-                • The specific task to be completed
-                • The person responsible (use actual names from transcript)
-                • The deadline or timeline mentioned
-                Format: • [Task description] - Assigned to: [Person Name] - Due: [Specific deadline]
-
-                IMPORTANT:
-                - Extract actual names, dates, and commitments from the conversation
-                - Be specific and detailed, not generic
-                - If a person is assigned multiple tasks, list each separately
-                - Include all deadlines mentioned (Thursday, Monday, EOD, etc.)
-                - Reference specific technical details (endpoints, tokens, testing, etc.)
-                """, transcript);
+                %s
+
+                NEW TRANSCRIPT SINCE THE LAST UPDATE:
+                %s
+
+                Return the complete updated minutes in the usual format:
+                - Keep the summary to 3-4 sentences covering the whole meeting so far, not only the new part
+                - Keep every existing decision and action item unless the new transcript changes or cancels it
+                - Add the decisions and action items from the new transcript, with actual names and deadlines
+                """,
+                current != null ? current.getOrDefault("summary", none) : none,
+                current != null ? current.getOrDefault("keyDecisions", none) : none,
+                current != null ? current.getOrDefault("actionItems", none) : none,
+                delta);
     }
 
-    private String extractGeminiContent(Map<String, Object> responseBody) {
+    static String extractGeminiContent(Map<String, Object> responseBody) {
         try {
             List<Map<String, Object>> candidates = (List<Map<String, Object>>) responseBody.get("candidates");
             if (candidates != null && !candidates.isEmpty()) {
@@ -353,12 +832,33 @@ public class OpenAIService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error extracting Gemini content: " + e.getMessage());
+            log.warn("Unexpected Gemini response shape: {}", e.getMessage());
         }
-        return "Error extracting content from response";
+        return null;
     }
 
-    private Map<String, String> parseMinutes(String content) {
+    // Structured JSON when the model honoured the schema, the section text format otherwise
+    private Map<String, String> parseModelOutput(String content) {
+        String trimmed = content.trim();
+        if (trimmed.startsWith("{")) {
+            try {
+                JsonNode root = objectMapper.readTree(trimmed);
+                if (root.isObject()) {
+                    return StructuredMinutes.render(root);
+                }
+            } catch (Exception e) {
+                metrics.parseFailure("structured_json");
+                log.warn("Structured output was not valid JSON, parsing as text: {}", e.getMessage());
+            }
+        }
+        Map<String, String> minutes = parseMinutes(content);
+        if (!SECTION_HEADER.matcher(content).find()) {
+            metrics.parseFailure("no_sections");
+        }
+        return minutes;
+    }
+
+    static Map<String, String> parseMinutes(String content) {
         Map<String, String> minutes = new HashMap<>();
 
         try {
@@ -394,7 +894,7 @@ public class OpenAIService {
             }
 
         } catch (Exception e) {
-            System.err.println("Error parsing minutes: " + e.getMessage());
+            log.warn("Could not parse minutes sections: {}", e.getMessage());
             minutes.put("summary", content);
             minutes.put("keyDecisions", "Error parsing decisions");
             minutes.put("actionItems", "Error parsing action items");
@@ -404,144 +904,23 @@ public class OpenAIService {
     }
 
     private Map<String, String> createFallbackMinutes(String transcript) {
-        Map<String, String> minutes = new HashMap<>();
-
-        String[] lines = transcript.split("\n");
-        Map<String, Integer> participants = new HashMap<>();
-        List<String> decisions = new java.util.ArrayList<>();
-        List<String> actions = new java.util.ArrayList<>();
-        String mainAgenda = "";
-
-        for (String line : lines) {
-            if (line.trim().isEmpty())
-                continue;
-
-            // Parse format: "10:00 AM — Name: Content" or "Name: Content"
-            String cleanLine = line.trim();
-            String speaker = "";
-            String content = "";
-
-            // Remove timestamp if present
-            cleanLine = cleanLine.replaceAll("^\\d{1,2}:\\d{2}\\s*[AP]M\\s*[—-]\\s*", "");
-
-            if (cleanLine.contains(":")) {
-                String[] parts = cleanLine.split(":", 2);
-                if (parts.length == 2) {
-                    speaker = parts[0].trim();
-                    content = parts[1].trim();
-
-                    // Track unique participants
-                    if (!speaker.isEmpty() && !speaker.matches("\\d+")) {
-                        participants.put(speaker, participants.getOrDefault(speaker, 0) + 1);
-                    }
-
-                    // Extract main agenda (first substantive statement)
-                    if (mainAgenda.isEmpty() && content.toLowerCase().contains("agenda")) {
-                        mainAgenda = content;
-                    }
-
-                    // Detect decisions (commitments with deadlines)
-                    String lowerContent = content.toLowerCase();
-                    if ((lowerContent.contains("by thursday") || lowerContent.contains("by friday") ||
-                            lowerContent.contains("by monday") || lowerContent.contains("by wednesday") ||
-                            lowerContent.contains("eod") || lowerContent.contains("tonight") ||
-                            lowerContent.contains("this week")) &&
-                            (lowerContent.contains("will") || lowerContent.contains("can") ||
-                                    lowerContent.contains("'ll") || lowerContent.contains("done"))) {
-                        decisions.add("• " + speaker + " committed: " + content);
-                    }
-
-                    // Detect action items (I'll, I will, I can statements)
-                    if (lowerContent.contains("i'll") || lowerContent.contains("i will") ||
-                            (lowerContent.contains("i can") && !lowerContent.contains("?"))) {
-
-                        // Extract the task
-                        String task = content;
-                        String deadline = "TBD";
-
-                        // Extract deadline
-                        if (lowerContent.contains("by thursday"))
-                            deadline = "Thursday";
-                        else if (lowerContent.contains("by friday"))
-                            deadline = "Friday";
-                        else if (lowerContent.contains("by monday"))
-                            deadline = "Monday";
-                        else if (lowerContent.contains("by wednesday"))
-                            deadline = "Wednesday";
-                        else if (lowerContent.contains("eod"))
-                            deadline = "EOD";
-                        else if (lowerContent.contains("tonight"))
-                            deadline = "Tonight";
-                        else if (lowerContent.contains("today"))
-                            deadline = "Today";
-
-                        actions.add("• " + task + " - Assigned to: " + speaker + " - Due: " + deadline);
-                    }
-
-                    // Detect questions asking someone to do something
-                    if (lowerContent.contains("can you") && content.contains("?")) {
-                        // Extract who is being asked
-                        String[] words = content.split("\\s+");
-                        for (int i = 0; i < words.length - 1; i++) {
-                            if (words[i].toLowerCase().equals("you")) {
-                                // The person being asked is likely mentioned after "can you"
-                                String task = content.replace("?", "");
-                                actions.add("• " + task + " - Assigned to: [To be confirmed]");
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        // Build summary
-        StringBuilder summary = new StringBuilder();
-        summary.append("The team meeting involved ").append(participants.size())
-                .append(" participants (").append(String.join(", ", participants.keySet())).append("). ");
-
-        if (!mainAgenda.isEmpty()) {
-            summary.append(mainAgenda).append(" ");
-        } else {
-            summary.append("The discussion focused on Sprint 14 planning, including authentication revamp status, ");
-            summary.append(
-                    "backend and frontend development timelines, QA testing schedules, and infrastructure updates. ");
-        }
+        return FallbackMinutesExtractor.extract(transcript);
+    }
 
-        summary.append("Team members provided status updates, committed to specific deliverables with deadlines, ");
-        summary.append("and identified dependencies and blockers requiring follow-up.");
+    // The whole meeting from the heuristic, as opposed to one failed chunk of it
+    private Map<String, String> heuristicMinutes(String transcript) {
+        metrics.outcome("minutes", "heuristic");
+        return createFallbackMinutes(transcript);
+    }
 
-        // Build decisions string
-        StringBuilder decisionsStr = new StringBuilder();
-        if (!decisions.isEmpty()) {
-            for (String decision : decisions) {
-                decisionsStr.append(decision).append("\n");
-            }
-        } else {
-            decisionsStr.append("• Backend development timeline established\n");
-            decisionsStr.append("• Frontend implementation schedule confirmed\n");
-            decisionsStr.append("• QA testing approach agreed upon\n");
-            decisionsStr.append("• Infrastructure deployment plan approved");
+    // The heuristic items of the delta added to the current minutes, whose summary is kept
+    private Map<String, String> heuristicUpdate(Map<String, String> current, String delta) {
+        if (current == null) {
+            return heuristicMinutes(delta);
         }
-
-        // Build action items string
-        StringBuilder actionsStr = new StringBuilder();
-        if (!actions.isEmpty()) {
-            for (String action : actions) {
-                actionsStr.append(action).append("\n");
-            }
-        } else {
-            // If no actions detected, create generic ones based on participants
-            for (String participant : participants.keySet()) {
-                actionsStr.append("• Complete assigned development tasks - Assigned to: ")
-                        .append(participant).append(" - Due: As discussed\n");
-            }
-        }
-
-        minutes.put("summary", summary.toString());
-        minutes.put("keyDecisions", decisionsStr.toString().trim());
-        minutes.put("actionItems", actionsStr.toString().trim());
-
-        return minutes;
+        metrics.outcome("minutes", "heuristic");
+        Map<String, String> fallback = new HashMap<>(createFallbackMinutes(delta));
+        fallback.remove("summary");
+        return MinutesMerger.merge(List.of(current, fallback));
     }
 }
@@ -0,0 +1,277 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.model.CachedResult;
+import com.cimba.meetingminutes.repository.CachedResultRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Content-addressed cache for provider results: a bounded in-memory LRU in front of the
+// CachedResult table, with concurrent identical requests sharing one upstream call
+@Slf4j
+@Service
+public class ResultCache {
+
+    private final CachedResultRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Map<String, MemoryEntry> memory;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong sharedCalls = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ResultCache(CachedResultRepository repository,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${minutes.cache.max-entries:1000}") int maxEntries,
+                       @Value("${minutes.cache.ttl:7d}") Duration ttl) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MemoryEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        registerLookups(meterRegistry, "memory_hit", memoryHits);
+        registerLookups(meterRegistry, "persistent_hit", persistentHits);
+        registerLookups(meterRegistry, "shared_call", sharedCalls);
+        registerLookups(meterRegistry, "miss", misses);
+        Gauge.builder("minutes.cache.memory.entries", memory, entries -> {
+                    synchronized (entries) {
+                        return entries.size();
+                    }
+                })
+                .register(meterRegistry);
+    }
+
+    private static void registerLookups(MeterRegistry meterRegistry, String result, AtomicLong count) {
+        FunctionCounter.builder("minutes.cache.lookups", count, AtomicLong::get)
+                .description("Result cache lookups by where the result came from")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // A loaded value and whether it may be stored; an uncached value still goes to every caller
+    // sharing the call, e.g. a transcript with missing segments
+    public record Loaded<T>(T value, boolean cacheable) {
+
+        public static <T> Loaded<T> cached(T value) {
+            return new Loaded<>(value, true);
+        }
+
+        public static <T> Loaded<T> uncached(T value) {
+            return new Loaded<>(value, false);
+        }
+    }
+
+    // The loader returns null for results that must not be cached (fallbacks, failures)
+    public <T> T get(String key, TypeReference<T> type, Supplier<T> loader) {
+        return getLoaded(key, type, () -> Loaded.cached(loader.get()));
+    }
+
+    // Like get, for loaders that can produce results to be served but not stored
+    public <T> T getLoaded(String key, TypeReference<T> type, Supplier<Loaded<T>> loader) {
+        T cached = fromMemory(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            sharedCalls.incrementAndGet();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            T value = fromDatabase(key, type);
+            if (value != null) {
+                persistentHits.incrementAndGet();
+                putInMemory(key, value);
+            } else {
+                misses.incrementAndGet();
+                Loaded<T> loaded = loader.get();
+                value = loaded.value();
+                if (value != null && loaded.cacheable()) {
+                    store(key, value);
+                    putInMemory(key, value);
+                }
+            }
+            call.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // Lookup without a loader, for callers that produce the value themselves (streaming)
+    public <T> T peek(String key, TypeReference<T> type) {
+        T cached = fromMemory(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+        T value = fromDatabase(key, type);
+        if (value != null) {
+            persistentHits.incrementAndGet();
+            putInMemory(key, value);
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    public void put(String key, Object value) {
+        store(key, value);
+        putInMemory(key, value);
+    }
+
+    // The TTL is only checked on read, so expired rows are deleted here; with the in-memory
+    // database they would otherwise stay on the heap for good
+    @Scheduled(fixedDelayString = "${minutes.cache.purge-interval-ms:3600000}",
+            initialDelayString = "${minutes.cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int purged = repository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+            if (purged > 0) {
+                log.info("Expired cache entries purged entries={}", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Could not purge expired cache entries: {}", e.getMessage());
+        }
+    }
+
+    public static String keyForText(String kind, String text) {
+        MessageDigest digest = sha256();
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        return kind + ":" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String keyForFile(String kind, Path file, String variant) {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        return kind + ":" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getPersistentHits() {
+        return persistentHits.get();
+    }
+
+    public long getSharedCalls() {
+        return sharedCalls.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private <T> T fromMemory(String key) {
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt.isBefore(LocalDateTime.now())) {
+                memory.remove(key);
+                return null;
+            }
+            return (T) entry.value;
+        }
+    }
+
+    private void putInMemory(String key, Object value) {
+        synchronized (memory) {
+            memory.put(key, new MemoryEntry(value, LocalDateTime.now().plus(ttl)));
+        }
+    }
+
+    private <T> T fromDatabase(String key, TypeReference<T> type) {
+        return repository.findById(key)
+                .filter(row -> row.getCreatedAt().plus(ttl).isAfter(LocalDateTime.now()))
+                .map(row -> {
+                    try {
+                        return objectMapper.readValue(row.getPayload(), type);
+                    } catch (IOException e) {
+                        log.warn("Ignoring unreadable cache entry key={}: {}", key, e.getMessage());
+                        return null;
+                    }
+                })
+                .orElse(null);
+    }
+
+    private void store(String key, Object value) {
+        try {
+            CachedResult row = new CachedResult();
+            row.setCacheKey(key);
+            row.setPayload(objectMapper.writeValueAsString(value));
+            row.setCreatedAt(LocalDateTime.now());
+            repository.save(row);
+        } catch (Exception e) {
+            // The result is still served, it just will not survive the memory tier
+            log.warn("Could not persist cache entry key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record MemoryEntry(Object value, LocalDateTime expiresAt) {
+    }
+}
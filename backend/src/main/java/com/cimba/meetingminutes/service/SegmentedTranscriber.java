@@ -0,0 +1,198 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.client.RetryLaterException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Long preprocessed recordings are split at pauses into segments of bounded length, transcribed
+// concurrently and stitched back in order, each part prefixed with its time in the original upload.
+// Segments are cached on their own, so a retry of the upload only sends the ones that failed.
+@Slf4j
+@Component
+public class SegmentedTranscriber {
+
+    private final ExecutorService executor;
+    private final ResultCache resultCache;
+    private final Duration maxSegmentLength;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    public SegmentedTranscriber(@Qualifier("minutesTranscriptionExecutor") ExecutorService executor,
+                                ResultCache resultCache,
+                                @Value("${minutes.audio.segments.max-length:5m}") Duration maxSegmentLength,
+                                @Value("${minutes.audio.segments.max-attempts:3}") int maxAttempts,
+                                @Value("${minutes.audio.segments.retry-delay:2s}") Duration retryDelay) {
+        this.executor = executor;
+        this.resultCache = resultCache;
+        this.maxSegmentLength = maxSegmentLength;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    // The stitched transcript; complete is false when some segments are missing from it
+    public record Result(String transcript, boolean complete) {
+    }
+
+    record Segment(AudioUpload upload, long startMs, long originalStartMs) {
+    }
+
+    public boolean shouldSplit(AudioPreprocessor.Processed audio) {
+        return audio.getDurationMs() > maxSegmentLength.toMillis();
+    }
+
+    // transcribeOne returns null when no provider produced a transcription and throws
+    // RetryLaterException when they are out of quota. Returns null if no segment was transcribed.
+    public Result transcribe(AudioPreprocessor.Processed audio, String variant, Function<AudioUpload, String> transcribeOne) {
+        List<Segment> segments = split(audio, maxSegmentLength.toMillis());
+        log.info("Long recording, transcribing in segments durationMs={} segments={}", audio.getDurationMs(), segments.size());
+        try {
+            String[] texts = new String[segments.size()];
+            Map<Integer, RetryLaterException> rateLimited = new TreeMap<>();
+            List<Integer> pending = new ArrayList<>();
+            for (int i = 0; i < segments.size(); i++) {
+                pending.add(i);
+            }
+
+            for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+                if (attempt > 1) {
+                    log.info("Retrying failed segments count={} attempt={}", pending.size(), attempt);
+                }
+                long delayMs = (attempt - 1) * retryDelay.toMillis();
+                Map<Integer, CompletableFuture<String>> running = new TreeMap<>();
+                for (int index : pending) {
+                    AudioUpload segment = segments.get(index).upload();
+                    running.put(index, CompletableFuture.supplyAsync(() -> resultCache.get(
+                                    ResultCache.keyForFile("transcript-segment", segment.getPath(), variant),
+                                    new TypeReference<>() {}, () -> transcribeOne.apply(segment)),
+                            CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, executor)));
+                }
+
+                List<Integer> failed = new ArrayList<>();
+                running.forEach((index, future) -> {
+                    rateLimited.remove(index);
+                    try {
+                        String text = future.join();
+                        if (text != null && !text.isBlank()) {
+                            texts[index] = text.trim();
+                            return;
+                        }
+                    } catch (CompletionException e) {
+                        if (e.getCause() instanceof RetryLaterException retryLater) {
+                            rateLimited.put(index, retryLater);
+                        } else {
+                            log.warn("Segment failed segment={}: {}", index + 1, e.getCause().getMessage());
+                        }
+                    }
+                    failed.add(index);
+                });
+                pending = failed;
+            }
+
+            if (!rateLimited.isEmpty()) {
+                // Quota ran out for some segments: the caller retries later, the finished ones are cached
+                throw rateLimited.values().iterator().next();
+            }
+            if (pending.size() == segments.size()) {
+                return null;
+            }
+            return new Result(stitch(segments, texts), pending.isEmpty());
+        } finally {
+            segments.forEach(segment -> segment.upload().close());
+        }
+    }
+
+    private static String stitch(List<Segment> segments, String[] texts) {
+        StringBuilder transcript = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (transcript.length() > 0) {
+                transcript.append("\n\n");
+            }
+            transcript.append('[').append(timestamp(segment.originalStartMs())).append("] ");
+            transcript.append(texts[i] != null ? texts[i] : "(this part of the recording could not be transcribed)");
+        }
+        return transcript.toString();
+    }
+
+    static String timestamp(long ms) {
+        long seconds = ms / 1000;
+        return seconds >= 3600
+                ? String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60)
+                : String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    // Cuts at the last pause in the second half of each window, or hard at the window end when
+    // nobody stopped talking for that long
+    static List<Segment> split(AudioPreprocessor.Processed audio, long maxLengthMs) {
+        List<Long> bounds = new ArrayList<>();
+        List<Long> pauses = audio.getTimeline().getPauses();
+        long start = 0;
+        long end = audio.getDurationMs();
+        while (end - start > maxLengthMs) {
+            long limit = start + maxLengthMs;
+            long cut = limit;
+            for (long pause : pauses) {
+                if (pause > limit) {
+                    break;
+                }
+                if (pause > start + maxLengthMs / 2) {
+                    cut = pause;
+                }
+            }
+            bounds.add(cut);
+            start = cut;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        Path source = audio.getUpload().getPath();
+        int rate = audio.getSampleRate();
+        long from = 0;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long totalSamples = (in.size() - AudioPreprocessor.WAV_HEADER_BYTES) / 2;
+            bounds.add(end);
+            for (long to : bounds) {
+                long first = from * rate / 1000;
+                long last = to == end ? totalSamples : Math.min(totalSamples, to * rate / 1000);
+                Path target = Files.createTempFile(source.getParent(), "segment-", ".wav");
+                try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    out.write(AudioPreprocessor.wavHeader(rate, last - first));
+                    long position = AudioPreprocessor.WAV_HEADER_BYTES + first * 2;
+                    long remaining = (last - first) * 2;
+                    while (remaining > 0) {
+                        long copied = in.transferTo(position, remaining, out);
+                        position += copied;
+                        remaining -= copied;
+                    }
+                }
+                String name = "segment-" + (segments.size() + 1) + ".wav";
+                segments.add(new Segment(new AudioUpload(target, name, "audio/wav", Files.size(target)),
+                        from, audio.getTimeline().toOriginalMs(from)));
+                from = to;
+            }
+        } catch (IOException e) {
+            segments.forEach(segment -> segment.upload().close());
+            throw new UncheckedIOException("Could not split audio into segments", e);
+        }
+        return segments;
+    }
+}
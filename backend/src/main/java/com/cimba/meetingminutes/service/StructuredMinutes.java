@@ -0,0 +1,128 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.model.ActionItem;
+import com.cimba.meetingminutes.model.Decision;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// JSON schema for Gemini structured output, its rendering into the canonical section text that
+// the rest of the app stores and merges, and the ActionItem / Decision rows built from its fields
+final class StructuredMinutes {
+
+    // Rendered minutes carry the decisions and action items as JSON under this key, so the rows
+    // come from the model's own fields instead of being parsed back out of the bullet text
+    static final String ITEMS = "structuredItems";
+
+    static final Map<String, Object> RESPONSE_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "summary", Map.of("type", "STRING"),
+                    "keyDecisions", Map.of(
+                            "type", "ARRAY",
+                            "items", Map.of(
+                                    "type", "OBJECT",
+                                    "properties", Map.of(
+                                            "decision", Map.of("type", "STRING"),
+                                            "details", Map.of("type", "STRING")),
+                                    "required", List.of("decision"))),
+                    "actionItems", Map.of(
+                            "type", "ARRAY",
+                            "items", Map.of(
+                                    "type", "OBJECT",
+                                    "properties", Map.of(
+                                            "task", Map.of("type", "STRING"),
+                                            "assignee", Map.of("type", "STRING"),
+                                            "due", Map.of("type", "STRING")),
+                                    "required", List.of("task")))),
+            "required", List.of("summary", "keyDecisions", "actionItems"),
+            "propertyOrdering", List.of("summary", "keyDecisions", "actionItems"));
+
+    private StructuredMinutes() {
+    }
+
+    static Map<String, String> render(JsonNode root) {
+        Map<String, String> minutes = new HashMap<>();
+        String summary = text(root, "summary");
+        minutes.put("summary", summary != null ? summary : "No summary generated.");
+
+        List<String> decisions = new ArrayList<>();
+        for (JsonNode node : root.path("keyDecisions")) {
+            String decision = text(node, "decision");
+            if (decision != null) {
+                String details = text(node, "details");
+                decisions.add("• " + decision + (details != null ? " - " + details : ""));
+            }
+        }
+        minutes.put("keyDecisions", decisions.isEmpty() ? "No key decisions identified." : String.join("\n", decisions));
+
+        List<String> actions = new ArrayList<>();
+        for (JsonNode node : root.path("actionItems")) {
+            String task = text(node, "task");
+            if (task != null) {
+                String assignee = text(node, "assignee");
+                String due = text(node, "due");
+                actions.add("• " + task + " - Assigned to: " + (assignee != null ? assignee : "[To be confirmed]")
+                        + " - Due: " + (due != null ? due : "TBD"));
+            }
+        }
+        minutes.put("actionItems", actions.isEmpty() ? "No action items identified." : String.join("\n", actions));
+
+        ObjectNode items = JsonNodeFactory.instance.objectNode();
+        items.set("keyDecisions", root.path("keyDecisions"));
+        items.set("actionItems", root.path("actionItems"));
+        minutes.put(ITEMS, items.toString());
+        return minutes;
+    }
+
+    static List<ActionItem> actionItems(JsonNode items, LocalDate meetingDate) {
+        List<ActionItem> actionItems = new ArrayList<>();
+        for (JsonNode node : items.path("actionItems")) {
+            String task = text(node, "task");
+            if (task == null) {
+                continue;
+            }
+            ActionItem item = new ActionItem();
+            item.setTask(MinutesItemParser.fit(task, MinutesItemParser.TEXT_LENGTH));
+            String assignee = MinutesItemParser.fit(text(node, "assignee"), MinutesItemParser.NAME_LENGTH);
+            if (assignee != null && !assignee.startsWith("[")) {
+                item.setAssignee(assignee);
+                item.setAssigneeKey(MinutesItemParser.assigneeKey(assignee));
+            }
+            String due = text(node, "due");
+            item.setDueText(MinutesItemParser.fit(due, MinutesItemParser.NAME_LENGTH));
+            item.setDueDate(MinutesItemParser.resolveDueDate(due, meetingDate));
+            actionItems.add(item);
+        }
+        return actionItems;
+    }
+
+    static List<Decision> decisions(JsonNode items) {
+        List<Decision> decisions = new ArrayList<>();
+        for (JsonNode node : items.path("keyDecisions")) {
+            String text = text(node, "decision");
+            if (text == null) {
+                continue;
+            }
+            Decision decision = new Decision();
+            decision.setDecision(MinutesItemParser.fit(text, MinutesItemParser.TEXT_LENGTH));
+            decision.setDetails(MinutesItemParser.fit(text(node, "details"), MinutesItemParser.TEXT_LENGTH));
+            decisions.add(decision);
+        }
+        return decisions;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isTextual() || value.asText().isBlank()) {
+            return null;
+        }
+        return value.asText().trim();
+    }
+}
@@ -0,0 +1,86 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Splits a transcript into prompt-sized chunks without cutting through a speaker turn
+final class TranscriptChunker {
+
+    // "10:00 AM — Priya: ..." or "Priya: ..."
+    private static final Pattern SPEAKER_TURN =
+            Pattern.compile("^\\s*(\\d{1,2}:\\d{2}\\s*([AP]M)?\\s*[—-]\\s*)?[^:\\n]{1,60}:");
+
+    private TranscriptChunker() {
+    }
+
+    // Rough estimate (about 4 characters per token for English text), good enough for budgeting
+    static int estimateTokens(CharSequence text) {
+        return (text.length() + 3) / 4;
+    }
+
+    static List<String> split(String transcript, int maxTokensPerChunk) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+
+        for (String turn : turns(transcript)) {
+            if (chunk.length() > 0 && estimateTokens(chunk) + estimateTokens(turn) > maxTokensPerChunk) {
+                chunks.add(chunk.toString());
+                chunk.setLength(0);
+            }
+            if (estimateTokens(turn) > maxTokensPerChunk) {
+                // A single monologue longer than the budget, split it at word boundaries
+                for (String piece : splitLongTurn(turn, maxTokensPerChunk)) {
+                    chunks.add(piece);
+                }
+                continue;
+            }
+            chunk.append(turn).append('\n');
+        }
+        if (chunk.length() > 0) {
+            chunks.add(chunk.toString());
+        }
+        return chunks;
+    }
+
+    private static List<String> turns(String transcript) {
+        List<String> turns = new ArrayList<>();
+        StringBuilder turn = new StringBuilder();
+        for (String line : transcript.split("\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            // Lines without a speaker label continue the previous turn
+            if (turn.length() > 0 && SPEAKER_TURN.matcher(line).lookingAt()) {
+                turns.add(turn.toString());
+                turn.setLength(0);
+            }
+            if (turn.length() > 0) {
+                turn.append('\n');
+            }
+            turn.append(line);
+        }
+        if (turn.length() > 0) {
+            turns.add(turn.toString());
+        }
+        return turns;
+    }
+
+    private static List<String> splitLongTurn(String turn, int maxTokensPerChunk) {
+        List<String> pieces = new ArrayList<>();
+        int maxChars = maxTokensPerChunk * 4;
+        int start = 0;
+        while (start < turn.length()) {
+            int end = Math.min(turn.length(), start + maxChars);
+            if (end < turn.length()) {
+                int space = turn.lastIndexOf(' ', end);
+                if (space > start) {
+                    end = space;
+                }
+            }
+            pieces.add(turn.substring(start, end).trim() + "\n");
+            start = end;
+        }
+        return pieces;
+    }
+}
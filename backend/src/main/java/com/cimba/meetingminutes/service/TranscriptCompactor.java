@@ -0,0 +1,327 @@
+package com.cimba.meetingminutes.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Shrinks a transcript before it goes into a prompt, without dropping anything the minutes need:
+// filler words and back-channel replies go, consecutive turns of one speaker are merged, per-line
+// timestamps become an occasional marker and long speaker labels get short aliases with a legend.
+// Runs on every request, so lines are scanned by hand rather than with regular expressions.
+final class TranscriptCompactor {
+
+    private static final Set<String> FILLERS = Set.of(
+            "um", "umm", "uh", "uhh", "uhm", "er", "err", "erm", "hm", "hmm", "mhm", "uh-huh", "mm-hmm");
+
+    // Dropped at the start of a turn only, as "So, ..." or "You know, ..."
+    private static final Set<String> LEADING_FILLERS = Set.of("so", "well", "okay so", "you know", "i mean");
+
+    // Dropped inside a sentence when set off by commas: "it is, you know, mostly done"
+    private static final Set<String> INNER_FILLERS = Set.of("you know", "i mean");
+
+    // Replies that carry nothing on their own; kept when they answer a question, where "okay" means yes
+    private static final Set<String> BACK_CHANNEL = Set.of(
+            "okay", "ok", "mm-hmm", "mhm", "uh-huh", "hmm", "i see", "got it", "cool", "right", "yeah yeah");
+
+    // Longest speaker label, "Priya Sharma (Product Manager)" fits
+    private static final int MAX_SPEAKER_CHARS = 60;
+
+    // A timestamp marker at most every this many minutes
+    private static final int TIMESTAMP_INTERVAL_MINUTES = 5;
+
+    record Result(String text, int originalTokens, int compactedTokens) {
+    }
+
+    private record Turn(String speaker, String time, int minuteOfDay, StringBuilder text) {
+    }
+
+    private TranscriptCompactor() {
+    }
+
+    static Result compact(String transcript) {
+        List<Turn> turns = new ArrayList<>();
+        Turn previous = null;
+        LineParser line = new LineParser();
+        for (String raw : transcript.split("\n")) {
+            if (raw.isBlank()) {
+                continue;
+            }
+            if (line.parse(raw)) {
+                previous = addTurn(turns, previous, line.speaker, line.time, line.minuteOfDay, clean(line.text));
+            } else if (previous != null) {
+                // A line without a speaker label continues the turn before it
+                String text = clean(raw);
+                if (!text.isEmpty()) {
+                    previous.text().append(previous.text().isEmpty() ? "" : " ").append(text);
+                }
+            } else {
+                previous = addTurn(turns, null, null, null, -1, clean(raw));
+            }
+        }
+
+        Map<String, String> aliases = aliases(turns);
+        StringBuilder out = new StringBuilder(transcript.length());
+        if (!aliases.isEmpty()) {
+            out.append("Speakers: ");
+            aliases.forEach((name, alias) -> out.append(alias).append(" = ").append(name).append(", "));
+            out.setLength(out.length() - 2);
+            out.append('\n');
+        }
+        int lastMarker = -TIMESTAMP_INTERVAL_MINUTES;
+        for (Turn turn : turns) {
+            if (turn.time() != null && (turn.minuteOfDay() - lastMarker >= TIMESTAMP_INTERVAL_MINUTES
+                    || turn.minuteOfDay() < lastMarker)) {
+                out.append('[').append(turn.time()).append("]\n");
+                lastMarker = turn.minuteOfDay();
+            }
+            if (turn.speaker() != null) {
+                out.append(aliases.getOrDefault(turn.speaker(), turn.speaker())).append(": ");
+            }
+            out.append(turn.text()).append('\n');
+        }
+        String text = out.toString();
+        return new Result(text, estimateTokens(transcript), estimateTokens(text));
+    }
+
+    // Closer to a BPE tokenizer than characters / 4: common words are one token, long words and
+    // numbers a few, punctuation one each, CJK one per character. Whitespace is free.
+    static int estimateTokens(CharSequence text) {
+        int tokens = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == ' ' || Character.isWhitespace(c)) {
+                i++;
+            } else if (isWordLetter(c)) {
+                int start = i;
+                while (i < length && isWordLetter(text.charAt(i))) {
+                    i++;
+                }
+                tokens += 1 + (i - start - 1) / 7;
+            } else if (Character.isIdeographic(c)) {
+                tokens++;
+                i++;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && Character.isDigit(text.charAt(i))) {
+                    i++;
+                }
+                tokens += (i - start + 2) / 3;
+            } else {
+                tokens++;
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // ASCII letters without the Character lookups, which dominate on English transcripts
+    private static boolean isWordLetter(char c) {
+        if (c < 128) {
+            return (c | 0x20) >= 'a' && (c | 0x20) <= 'z';
+        }
+        return Character.isLetter(c) && !Character.isIdeographic(c);
+    }
+
+    // Drops back-channel replies and merges a turn into the previous one of the same speaker
+    private static Turn addTurn(List<Turn> turns, Turn previous, String speaker, String time, int minuteOfDay, String text) {
+        if (text.isEmpty()) {
+            return previous;
+        }
+        boolean answersQuestion = previous != null && !previous.text().isEmpty()
+                && previous.text().charAt(previous.text().length() - 1) == '?';
+        if (!answersQuestion && text.length() <= 12 && BACK_CHANNEL.contains(bare(text))) {
+            return previous;
+        }
+        if (previous != null && speaker != null && speaker.equals(previous.speaker())) {
+            previous.text().append(' ').append(text);
+            return previous;
+        }
+        Turn turn = new Turn(speaker, time, minuteOfDay, new StringBuilder(text));
+        turns.add(turn);
+        return turn;
+    }
+
+    // S1, S2, ... in order of appearance, for speakers where the alias pays for its legend entry
+    private static Map<String, String> aliases(List<Turn> turns) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Turn turn : turns) {
+            if (turn.speaker() != null) {
+                counts.merge(turn.speaker(), 1, Integer::sum);
+            }
+        }
+        Map<String, String> aliases = new LinkedHashMap<>();
+        int saved = 0;
+        for (Map.Entry<String, Integer> speaker : counts.entrySet()) {
+            String alias = "S" + (aliases.size() + 1);
+            int net = speaker.getValue() * (estimateTokens(speaker.getKey()) - estimateTokens(alias))
+                    - estimateTokens(alias + " = " + speaker.getKey() + ", ");
+            if (net > 0) {
+                aliases.put(speaker.getKey(), alias);
+                saved += net;
+            }
+        }
+        // The legend line itself has to pay off too
+        return saved > estimateTokens("Speakers: ") ? aliases : Map.of();
+    }
+
+    // Word by word: a filler goes together with the comma around it ("to, uh, review" -> "to review")
+    // and a sentence end on a filler moves to the word before it ("done, um." -> "done.")
+    static String clean(String text) {
+        List<String> words = words(text);
+        StringBuilder out = new StringBuilder(text.length());
+        boolean dropped = false;
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            String core = bare(word);
+            String pair = i + 1 < words.size() && words.get(i + 1).endsWith(",") ? core + " " + bare(words.get(i + 1)) : null;
+
+            if (FILLERS.contains(core)) {
+                char end = word.charAt(word.length() - 1);
+                if (endsWithComma(out) && (end == ',' || end == '.' || end == '?' || end == '!')) {
+                    out.setLength(out.length() - 1);
+                }
+                if (!out.isEmpty() && (end == '.' || end == '?' || end == '!')) {
+                    out.append(end);
+                }
+                dropped = true;
+                continue;
+            }
+            if (out.isEmpty() && word.endsWith(",") && LEADING_FILLERS.contains(core)) {
+                dropped = true;
+                continue;
+            }
+            if (pair != null && (out.isEmpty() ? LEADING_FILLERS.contains(pair) : endsWithComma(out) && INNER_FILLERS.contains(pair))) {
+                i++;
+                dropped = true;
+                continue;
+            }
+
+            if (!out.isEmpty()) {
+                out.append(' ');
+            } else if (dropped && Character.isLowerCase(word.charAt(0))) {
+                // The sentence started with what was dropped
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            }
+            out.append(word);
+        }
+        return out.toString();
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean space = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (space && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            } else if (!space && start < 0) {
+                start = i;
+            }
+        }
+        return words;
+    }
+
+    private static boolean endsWithComma(StringBuilder text) {
+        return !text.isEmpty() && text.charAt(text.length() - 1) == ',';
+    }
+
+    // Lower case, without the punctuation around it: "Mm-hmm." -> "mm-hmm", "Got it!" -> "got it"
+    private static String bare(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && !Character.isLetterOrDigit(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetterOrDigit(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    // "10:00 AM — Priya: ...", "[10:00] Priya Sharma (PM): ..." or "Priya: ..."; reused across lines
+    private static final class LineParser {
+        String time;
+        int minuteOfDay;
+        String speaker;
+        String text;
+
+        boolean parse(String line) {
+            int start = skipSpaces(line, 0);
+            time = null;
+            minuteOfDay = -1;
+            int i = parseTime(line, start);
+            if (time == null) {
+                i = start;
+            }
+            int colon = line.indexOf(':', i);
+            if (colon <= i || colon - i > MAX_SPEAKER_CHARS || !Character.isLetter(line.charAt(i))) {
+                return false;
+            }
+            for (int c = i; c < colon; c++) {
+                char ch = line.charAt(c);
+                if (!Character.isLetter(ch) && ".'’ ()&-".indexOf(ch) < 0
+                        && Character.getType(ch) != Character.NON_SPACING_MARK) {
+                    return false;
+                }
+            }
+            speaker = line.substring(i, colon).trim();
+            text = line.substring(colon + 1);
+            return true;
+        }
+
+        // [hh:mm(:ss)] (AM|PM) and a dash; sets time and minuteOfDay when the line starts with one
+        private int parseTime(String line, int i) {
+            int length = line.length();
+            if (i < length && line.charAt(i) == '[') {
+                i++;
+            }
+            int hourStart = i;
+            while (i < length && i - hourStart < 2 && Character.isDigit(line.charAt(i))) {
+                i++;
+            }
+            if (i == hourStart || i + 2 >= length || line.charAt(i) != ':'
+                    || !Character.isDigit(line.charAt(i + 1)) || !Character.isDigit(line.charAt(i + 2))) {
+                return i;
+            }
+            int hour = Integer.parseInt(line, hourStart, i, 10);
+            int minute = Integer.parseInt(line, i + 1, i + 3, 10);
+            String clock = line.substring(hourStart, i + 3);
+            i += 3;
+            if (i + 2 < length && line.charAt(i) == ':' && Character.isDigit(line.charAt(i + 1))) {
+                i += 3;
+            }
+            i = skipSpaces(line, i);
+            String half = null;
+            if (i + 1 < length && "AaPp".indexOf(line.charAt(i)) >= 0 && "Mm".indexOf(line.charAt(i + 1)) >= 0) {
+                half = line.substring(i, i + 2).toUpperCase(Locale.ROOT);
+                i = skipSpaces(line, i + 2);
+            }
+            if (i < length && line.charAt(i) == ']') {
+                i = skipSpaces(line, i + 1);
+            }
+            if (i < length && "—–-".indexOf(line.charAt(i)) >= 0) {
+                i = skipSpaces(line, i + 1);
+            }
+            // Without AM/PM it is a 24-hour clock
+            if (half != null) {
+                hour = hour % 12 + (half.equals("PM") ? 12 : 0);
+            }
+            time = half == null ? clock : clock + " " + half;
+            minuteOfDay = hour * 60 + minute;
+            return i;
+        }
+
+        private static int skipSpaces(String line, int i) {
+            while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.cimba.meetingminutes.service;
+
+import com.cimba.meetingminutes.model.MeetingMinutes;
+import com.cimba.meetingminutes.model.StoredTranscript;
+import com.cimba.meetingminutes.repository.StoredTranscriptRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Transcripts are stored Deflate-compressed in their own table and only inflated when a caller
+// asks for one (transcript endpoint, search rebuild); spoken text typically shrinks 3-5x
+@Service
+public class TranscriptStore {
+
+    private final StoredTranscriptRepository repository;
+    private final int level;
+
+    public TranscriptStore(StoredTranscriptRepository repository,
+                           @Value("${minutes.transcripts.compression-level:6}") int level) {
+        this.repository = repository;
+        this.level = level;
+    }
+
+    // Stores the transcripts carried by freshly saved minutes, in one insert batch
+    public void saveAll(List<MeetingMinutes> savedMinutes) {
+        List<StoredTranscript> rows = new ArrayList<>();
+        for (MeetingMinutes minutes : savedMinutes) {
+            if (minutes.getTranscript() != null) {
+                rows.add(toRow(minutes.getId(), minutes.getTranscript()));
+            }
+        }
+        repository.saveAll(rows);
+    }
+
+    public Optional<String> load(Long minutesId) {
+        return repository.findById(minutesId).map(TranscriptStore::inflate);
+    }
+
+    private StoredTranscript toRow(Long minutesId, String transcript) {
+        StoredTranscript row = new StoredTranscript();
+        row.setMinutesId(minutesId);
+        row.setData(deflate(transcript.getBytes(StandardCharsets.UTF_8), level));
+        row.setOriginalLength(transcript.length());
+        return row;
+    }
+
+    static byte[] deflate(byte[] input, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(StoredTranscript row) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(row.getData());
+            // UTF-8 is at least one byte per char, usually exactly one for transcripts
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, row.getOriginalLength()));
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated transcript for minutes " + row.getMinutesId());
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt transcript for minutes " + row.getMinutesId(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -7,15 +7,17 @@ const API_URL = 'http://localhost:8080/api/minutes';
 function HistoryList({ setMinutes, setActiveTab }) {
   const [history, setHistory] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
 
   useEffect(() => {
     fetchHistory();
   }, []);
 
-  const fetchHistory = async () => {
+  const fetchHistory = async (cursor) => {
     try {
-      const response = await axios.get(API_URL);
-      setHistory(response.data);
+      const response = await axios.get(API_URL, { params: cursor ? { cursor } : {} });
+      setHistory(prev => cursor ? [...prev, ...response.data] : response.data);
+      setNextCursor(response.headers['x-next-cursor'] || null);
     } catch (err) {
       console.error('Failed to fetch history:', err);
     } finally {
@@ -56,6 +58,9 @@ function HistoryList({ setMinutes, setActiveTab }) {
           </div>
         ))}
       </div>
+      {nextCursor && (
+        <button className="view-btn" onClick={() => fetchHistory(nextCursor)}>Load more</button>
+      )}
     </div>
   );
 }
@@ -4,6 +4,37 @@ import './UploadForm.css';
 
 const API_URL = 'http://localhost:8080/api/minutes';
 
+// Minimal server-sent events reader, EventSource cannot POST a body
+async function readEvents(body, onEvent) {
+  const reader = body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += decoder.decode(value, { stream: true });
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const block = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+      let event = 'message';
+      const data = [];
+      for (const line of block.split('\n')) {
+        if (line.startsWith('event:')) {
+          event = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(5));
+        }
+      }
+      if (data.length > 0) {
+        onEvent(event, JSON.parse(data.join('\n')));
+      }
+    }
+  }
+}
+
 function UploadForm({ setMinutes, loading, setLoading }) {
   const [title, setTitle] = useState('');
   const [transcript, setTranscript] = useState('');
@@ -22,11 +53,27 @@ function UploadForm({ setMinutes, loading, setLoading }) {
     setError('');
 
     try {
-      const response = await axios.post(`${API_URL}/transcript`, {
-        title,
-        transcript
+      // Sections are shown as soon as the server has them, the saved record arrives last
+      const response = await fetch(`${API_URL}/transcript/stream`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ title, transcript })
+      });
+      if (!response.ok) {
+        throw new Error(`HTTP ${response.status}`);
+      }
+
+      let partial = { title, createdAt: new Date().toISOString() };
+      await readEvents(response.body, (event, data) => {
+        if (event === 'section') {
+          partial = { ...partial, [data.name]: data.content };
+          setMinutes(partial);
+        } else if (event === 'minutes') {
+          setMinutes(data);
+        } else if (event === 'error') {
+          throw new Error(data.message);
+        }
       });
-      setMinutes(response.data);
       setTitle('');
       setTranscript('');
     } catch (err) {